@@ -0,0 +1,91 @@
+package calculatorApp.calculator.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files (run with {@code -prof gc -rf json}) benchmark by benchmark.
+ * <p>
+ * Usage: {@code BaselineComparison <baseline.json> <current.json> [thresholdPercent]}.
+ * Exits with status 1 when any benchmark lost more than {@code thresholdPercent} of its throughput
+ * or allocates that much more bytes per operation than in the baseline.
+ */
+public class BaselineComparison {
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BaselineComparison <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+
+        Map<String, Result> baseline = read(new File(args[0]));
+        Map<String, Result> current = read(new File(args[1]));
+
+        boolean regressed = false;
+        System.out.printf("%-90s %14s %14s %8s %12s %12s %8s%n",
+                "Benchmark", "base ops/s", "ops/s", "diff %", "base B/op", "B/op", "diff %");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result before = baseline.get(entry.getKey());
+            Result after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.2f%n", entry.getKey(), "-", after.score());
+                continue;
+            }
+            double scoreDiff = percent(before.score(), after.score());
+            double allocationDiff = percent(before.bytesPerOp(), after.bytesPerOp());
+            boolean slower = scoreDiff < -threshold;
+            boolean heavier = allocationDiff > threshold;
+            regressed |= slower || heavier;
+
+            System.out.printf("%-90s %14.2f %14.2f %8.1f %12.0f %12.0f %8.1f%s%n",
+                    entry.getKey(), before.score(), after.score(), scoreDiff,
+                    before.bytesPerOp(), after.bytesPerOp(), allocationDiff,
+                    slower || heavier ? "  <-- regression" : "");
+        }
+
+        if (regressed) {
+            System.out.printf("Regression above %.1f%% detected%n", threshold);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Result> read(File file) throws IOException {
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            JsonNode allocation = run.path("secondaryMetrics").path(ALLOCATION_METRIC);
+            results.put(key(run), new Result(
+                    run.path("primaryMetric").path("score").asDouble(),
+                    allocation.isMissingNode() ? Double.NaN : allocation.path("score").asDouble()));
+        }
+        return results;
+    }
+
+    private static String key(JsonNode run) {
+        StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+        Map<String, String> params = new TreeMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = run.path("params").fields();
+        fields.forEachRemaining(field -> params.put(field.getKey(), field.getValue().asText()));
+        params.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+        return key.toString();
+    }
+
+    private static double percent(double before, double after) {
+        if (Double.isNaN(before) || Double.isNaN(after) || before == 0) {
+            return 0;
+        }
+        return (after - before) / before * 100;
+    }
+
+    private record Result(double score, double bytesPerOp) {
+    }
+}
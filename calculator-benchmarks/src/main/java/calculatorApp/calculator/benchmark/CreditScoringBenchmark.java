@@ -0,0 +1,51 @@
+package calculatorApp.calculator.benchmark;
+
+import calculatorApp.calculator.model.dto.CalcDto;
+import calculatorApp.calculator.model.dto.LoanOfferDto;
+import calculatorApp.calculator.util.CreditScoring;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreditScoringBenchmark {
+
+    @Param({"6", "24", "60", "120", "240", "360"})
+    private int term;
+
+    @Param({"50000", "500000", "5000000"})
+    private String amount;
+
+    private BigDecimal requestedAmount;
+    private BigDecimal rate;
+    private BigDecimal psk;
+
+    @Setup
+    public void setUp() {
+        requestedAmount = new BigDecimal(amount);
+        rate = BigDecimal.valueOf(19);
+        psk = CreditScoring.calculateTotalCost(requestedAmount, rate);
+    }
+
+    @Benchmark
+    public LoanOfferDto calculatePreScoring() {
+        return CreditScoring.calculatePreScoring(new CalcDto(requestedAmount, term, true, true));
+    }
+
+    @Benchmark
+    public List<LoanOfferDto> calculatePreScoringOffers() {
+        return CreditScoring.calculatePreScoringOffers(requestedAmount, term);
+    }
+
+    @Benchmark
+    public BigDecimal calculateMonthlyPayment() {
+        return CreditScoring.calculateMonthlyPayment(psk, term, rate);
+    }
+}
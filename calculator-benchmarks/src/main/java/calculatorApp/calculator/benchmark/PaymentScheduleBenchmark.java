@@ -0,0 +1,56 @@
+package calculatorApp.calculator.benchmark;
+
+import calculatorApp.calculator.engine.BigDecimalCalculationEngine;
+import calculatorApp.calculator.engine.CalculationEngine;
+import calculatorApp.calculator.engine.FixedPointCalculationEngine;
+import calculatorApp.calculator.model.dto.PaymentScheduleElementDto;
+import calculatorApp.calculator.util.CreditScoring;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaymentScheduleBenchmark {
+
+    private static final LocalDate CALCULATION_DATE = LocalDate.of(2024, 1, 15);
+
+    @Param({"6", "24", "60", "120", "240", "360"})
+    private int term;
+
+    @Param({"50000", "500000", "5000000"})
+    private String amount;
+
+    @Param({"big-decimal", "fixed-point"})
+    private String engine;
+
+    private CalculationEngine calculationEngine;
+    private BigDecimal rate;
+    private BigDecimal psk;
+    private BigDecimal monthlyPayment;
+
+    @Setup
+    public void setUp() {
+        calculationEngine = "fixed-point".equals(engine) ? new FixedPointCalculationEngine() : new BigDecimalCalculationEngine();
+        rate = BigDecimal.valueOf(19);
+        psk = CreditScoring.calculateTotalCost(new BigDecimal(amount), rate);
+        monthlyPayment = calculationEngine.calculateMonthlyPayment(psk, term, rate);
+    }
+
+    @Benchmark
+    public BigDecimal calculateMonthlyPayment() {
+        return calculationEngine.calculateMonthlyPayment(psk, term, rate);
+    }
+
+    @Benchmark
+    public List<PaymentScheduleElementDto> generatePaymentSchedule() {
+        return calculationEngine.generatePaymentSchedule(psk, term, rate, monthlyPayment, CALCULATION_DATE);
+    }
+}
@@ -0,0 +1,84 @@
+package calculatorApp.calculator.benchmark;
+
+import calculatorApp.calculator.config.ScoringRulesProperties;
+import calculatorApp.calculator.model.dto.EmploymentDto;
+import calculatorApp.calculator.model.dto.ScoringDataDto;
+import calculatorApp.calculator.model.dto.ScoringResultDto;
+import calculatorApp.calculator.model.enumerated.EmploymentStatusEnum;
+import calculatorApp.calculator.model.enumerated.Gender;
+import calculatorApp.calculator.model.enumerated.MaritalStatus;
+import calculatorApp.calculator.model.enumerated.Position;
+import calculatorApp.calculator.scoring.HardCodedScoring;
+import calculatorApp.calculator.scoring.RejectPipeline;
+import calculatorApp.calculator.scoring.ScoringRules;
+import calculatorApp.calculator.scoring.ScoringRulesRegistry;
+import calculatorApp.calculator.util.CreditScoring;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoringBenchmark {
+    private static final LocalDate CALCULATION_DATE = LocalDate.of(2024, 1, 15);
+
+    /**
+     * APPROVED walks every rate adjustment, the REJECTED_* profiles stop at the corresponding hard check.
+     */
+    @Param({"APPROVED", "REJECTED_EXPERIENCE", "REJECTED_UNEMPLOYED"})
+    private String profile;
+
+    private ScoringDataDto data;
+    private ScoringRules rules;
+    private RejectPipeline pipeline;
+
+    @Setup
+    public void setUp() {
+        rules = ScoringRulesRegistry.loadDefault();
+        pipeline = new RejectPipeline(new ScoringRulesProperties());
+
+        EmploymentDto employment = new EmploymentDto();
+        employment.setEmploymentStatus(EmploymentStatusEnum.SELF_EMPLOYED);
+        employment.setSalary(BigDecimal.valueOf(100000));
+        employment.setPosition(Position.MIDDLE_MANAGER);
+        employment.setWorkExperienceTotal(36);
+        employment.setGetWorkExperienceCurrent(12);
+
+        switch (profile) {
+            case "REJECTED_EXPERIENCE" -> employment.setWorkExperienceTotal(6);
+            case "REJECTED_UNEMPLOYED" -> employment.setEmploymentStatus(EmploymentStatusEnum.UNEMPLOYED);
+            default -> {
+            }
+        }
+
+        data = ScoringDataDto.builder()
+                .amount(BigDecimal.valueOf(500000))
+                .term(60)
+                .gender(Gender.FEMALE)
+                .birthdate(LocalDate.of(1985, 1, 1))
+                .maritalStatus(MaritalStatus.MARRIED)
+                .employment(employment)
+                .isInsuranceEnabled(true)
+                .isSalaryClient(true)
+                .build();
+    }
+
+    @Benchmark
+    public ScoringResultDto performScoring() {
+        return CreditScoring.performScoring(data, CALCULATION_DATE, rules, pipeline);
+    }
+
+    /**
+     * The hard-coded scoring the compiled rules replaced, kept as the reference for {@link #performScoring()}.
+     */
+    @Benchmark
+    public ScoringResultDto performScoringHardCoded() {
+        return HardCodedScoring.performScoring(data, CALCULATION_DATE);
+    }
+}
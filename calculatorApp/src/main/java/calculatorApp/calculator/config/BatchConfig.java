@@ -0,0 +1,25 @@
+package calculatorApp.calculator.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class BatchConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService batchOfferExecutor(BatchProperties properties) {
+        return new ThreadPoolExecutor(
+                properties.getParallelism(),
+                properties.getParallelism(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                new CustomizableThreadFactory("batch-offers-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
@@ -0,0 +1,29 @@
+package calculatorApp.calculator.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "calculator.batch")
+@Getter
+@Setter
+public class BatchProperties {
+    /**
+     * Maximum number of applications accepted in one batch request.
+     */
+    private int maxSize = 10_000;
+    /**
+     * Threads calculating batch offers, shared by all batch requests.
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    /**
+     * Chunks waiting for a free thread; when the queue is full the request thread calculates the chunk itself.
+     */
+    private int queueCapacity = 64;
+    /**
+     * Applications calculated by one executor task.
+     */
+    private int chunkSize = 100;
+}
@@ -0,0 +1,36 @@
+package calculatorApp.calculator.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "calculator.offers.grid")
+@Getter
+@Setter
+public class OfferGridProperties {
+    /**
+     * Serve the offers of an amount and term calculated before from memory.
+     */
+    private boolean enabled = true;
+    /**
+     * Amount and term combinations kept in memory; when full, entries unlikely to be requested again are evicted first.
+     */
+    private int maximumSize = 50_000;
+    /**
+     * Amounts calculated on startup for every term of {@code warm-up-terms}. Amounts match by value and scale,
+     * so list them the way clients send them.
+     */
+    private List<BigDecimal> warmUpAmounts = new ArrayList<>(List.of(
+            new BigDecimal("50000"), new BigDecimal("100000"), new BigDecimal("150000"), new BigDecimal("200000"),
+            new BigDecimal("300000"), new BigDecimal("500000"), new BigDecimal("1000000")));
+    /**
+     * Terms calculated on startup, as sent in {@code LoanStatementRequestDto.term}.
+     */
+    private List<Integer> warmUpTerms = new ArrayList<>(List.of(6, 12, 18, 24, 36, 48, 60));
+}
@@ -0,0 +1,27 @@
+package calculatorApp.calculator.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "calculator.scoring.cache")
+@Getter
+@Setter
+public class ScoringCacheProperties {
+    /**
+     * Reuse the credit calculated for an identical application on the same calculation date.
+     */
+    private boolean enabled = true;
+    /**
+     * Calculated credits kept in memory; when full, entries unlikely to be requested again are evicted first.
+     */
+    private int maximumSize = 10_000;
+    /**
+     * How long a calculated credit is kept after it was calculated.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+}
@@ -0,0 +1,43 @@
+package calculatorApp.calculator.config;
+
+import calculatorApp.calculator.scoring.RejectStage;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "calculator.scoring")
+@Getter
+@Setter
+public class ScoringRulesProperties {
+    /**
+     * Scoring rule set, a classpath: or file: resource in the format of {@code scoring-rules.json}.
+     */
+    private String rulesLocation = "classpath:scoring-rules.json";
+    /**
+     * How often the rule set is read again; a changed rule set replaces the current one without a restart.
+     */
+    private Duration reloadInterval = Duration.ofSeconds(30);
+    /**
+     * Order of the hard-reject checks, every stage exactly once. The first failing stage gives the rejection reason.
+     */
+    private List<RejectStage> rejectOrder = new ArrayList<>(RejectStage.DEFAULT_ORDER);
+    /**
+     * Reorder the reject stages by cost and observed rejection rate, so the checks that reject most per unit of
+     * work run first. Applications failing several stages may then get a different rejection reason.
+     */
+    private boolean adaptiveOrder = false;
+    /**
+     * How often the observed rejection rates are checked when {@code adaptive-order} is on.
+     */
+    private Duration reorderInterval = Duration.ofMinutes(1);
+    /**
+     * Checks every stage needs since the last reorder before its rejection rate is trusted.
+     */
+    private long reorderMinSamples = 1000;
+}
@@ -1,22 +1,51 @@
 package calculatorApp.calculator.controller;
 
+import calculatorApp.calculator.config.BatchProperties;
+import calculatorApp.calculator.exception.BatchRequestException;
+import calculatorApp.calculator.model.dto.BatchOfferResultDto;
 import calculatorApp.calculator.model.dto.CreditDto;
 import calculatorApp.calculator.model.dto.LoanOfferDto;
 import calculatorApp.calculator.model.dto.LoanStatementRequestDto;
+import calculatorApp.calculator.model.dto.RejectStageStatsDto;
 import calculatorApp.calculator.model.dto.ScoringDataDto;
+import calculatorApp.calculator.model.dto.ScoringRejectionDto;
+import calculatorApp.calculator.service.BatchPreScoringService;
+import calculatorApp.calculator.service.CreditDecision;
 import calculatorApp.calculator.service.PreScoringService;
 import calculatorApp.calculator.service.ScoringService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
@@ -28,15 +57,80 @@ public class ScoringController {
 
     private final ScoringService scoringService;
     private final PreScoringService preScoringService;
+    private final BatchPreScoringService batchPreScoringService;
+    private final BatchProperties batchProperties;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
 
     @PostMapping("/calc")
     @Operation(
             summary = "Расчет кредита",
             description = "Принимает данные для скоринга и возвращает параметры кредита"
     )
-    public CreditDto calculateCredit(@RequestBody  @Parameter(description = "Данные для скоринга") @Valid ScoringDataDto data) {
-        log.info("Начало расчета кредита. Тело запроса: {}", data);
-        return scoringService.calculateCredit(data);
+    @ApiResponse(responseCode = "422", description = "Заявка отклонена скорингом",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ScoringRejectionDto.class)))
+    public ResponseEntity<?> calculateCredit(@RequestBody  @Parameter(description = "Данные для скоринга") @Valid ScoringDataDto data) {
+        log.info("Начало расчета кредита. Сумма: {}, срок: {}", data.getAmount(), data.getTerm());
+        log.debug("Тело запроса: {}", data);
+        return switch (scoringService.calculateCredit(data)) {
+            case CreditDecision.Approved approved -> ResponseEntity.ok(approved.credit());
+            case CreditDecision.Rejected rejected -> rejection(rejected);
+        };
+    }
+
+    @PostMapping(value = "/calc", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Расчет кредита с потоковой выдачей графика платежей",
+            description = "Первая строка - параметры кредита без графика, далее по одной строке на каждый платеж по мере расчета"
+    )
+    @ApiResponse(responseCode = "422", description = "Заявка отклонена скорингом",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ScoringRejectionDto.class)))
+    public ResponseEntity<StreamingResponseBody> calculateCreditStream(@RequestBody @Parameter(description = "Данные для скоринга") @Valid ScoringDataDto data) {
+        log.info("Начало потокового расчета кредита. Сумма: {}, срок: {}", data.getAmount(), data.getTerm());
+        log.debug("Тело запроса: {}", data);
+        LocalDate calculationDate = LocalDate.now(clock);
+        // scoring is decided here, before the stream starts
+        CreditDecision decision = scoringService.calculateCreditTerms(data, calculationDate);
+        if (decision instanceof CreditDecision.Rejected rejected) {
+            // the body is streamed as well: the declared body type selects the streaming return value handler
+            ScoringRejectionDto rejection = rejection(rejected).getBody();
+            return ResponseEntity.unprocessableEntity()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(outputStream -> objectMapper.writeValue(outputStream, rejection));
+        }
+        CreditDto credit = ((CreditDecision.Approved) decision).credit();
+
+        // rows go through the generator buffer instead of being flushed one by one
+        ObjectWriter writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("");
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                writer.writeValue(generator, credit);
+                generator.writeRaw('\n');
+                scoringService.generatePaymentSchedule(credit, calculationDate, row -> {
+                    try {
+                        writer.writeValue(generator, row);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/scoring/stages")
+    @Operation(
+            summary = "Статистика проверок скоринга",
+            description = "Возвращает проверки отказа в текущем порядке с числом проверенных и отклоненных заявок. "
+                    + "Решения из кэша скоринга проверки не проходят и здесь не учитываются"
+    )
+    public List<RejectStageStatsDto> getRejectStageStats() {
+        return scoringService.getRejectStageStats();
     }
 
     @PostMapping("/offers")
@@ -45,9 +139,74 @@ public class ScoringController {
             description = "Позволяет рассчитать предварительные условия кредита"
     )
     public List<LoanOfferDto> calculatePreOffer(@RequestBody @Parameter(description = "Данные для прескориинга") @Valid LoanStatementRequestDto requestDto) {
-        log.info("Начало обработки условий займа. Тело запроса: {}", requestDto);
+        log.info("Начало обработки условий займа. Сумма: {}, срок: {}", requestDto.getAmount(), requestDto.getTerm());
+        log.debug("Тело запроса: {}", requestDto);
         return preScoringService.calculatePreOffer(requestDto);
     }
 
+    @PostMapping(value = "/offers/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Пакетный расчет кредитных предложений",
+            description = "Принимает массив заявок и возвращает предложения или ошибки по каждой заявке в том же порядке"
+    )
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "Заявки для прескоринга", content = @Content(
+            mediaType = MediaType.APPLICATION_JSON_VALUE,
+            array = @ArraySchema(schema = @Schema(implementation = LoanStatementRequestDto.class))))
+    public List<BatchOfferResultDto> calculatePreOffers(InputStream body) {
+        List<LoanStatementRequestDto> requests = new ArrayList<>();
+        ObjectReader reader = objectMapper.readerFor(LoanStatementRequestDto.class);
+        try (JsonParser parser = objectMapper.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new BatchRequestException("Пакет должен быть массивом заявок");
+            }
+            for (JsonToken token = parser.nextToken(); token != JsonToken.END_ARRAY; token = parser.nextToken()) {
+                if (token == null) {
+                    throw new BatchRequestException("Не удалось прочитать заявку " + requests.size() + " пакета");
+                }
+                addToBatch(requests, reader.readValue(parser));
+            }
+        } catch (IOException e) {
+            throw new BatchRequestException("Не удалось прочитать заявку " + requests.size() + " пакета", e);
+        }
+        log.info("Начало обработки пакета заявок, заявок: {}", requests.size());
+        return batchPreScoringService.calculatePreOffers(requests);
+    }
 
+    @PostMapping(value = "/offers/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Пакетный расчет кредитных предложений (NDJSON)",
+            description = "Принимает заявки по одной JSON-строке и возвращает предложения или ошибки по каждой заявке в том же порядке"
+    )
+    public List<BatchOfferResultDto> calculatePreOffersNdjson(InputStream body) {
+        List<LoanStatementRequestDto> requests = new ArrayList<>();
+        try (MappingIterator<LoanStatementRequestDto> lines = objectMapper.readerFor(LoanStatementRequestDto.class).readValues(body)) {
+            while (lines.hasNextValue()) {
+                addToBatch(requests, lines.nextValue());
+            }
+        } catch (IOException e) {
+            throw new BatchRequestException("Не удалось прочитать заявку " + requests.size() + " пакета", e);
+        }
+        log.info("Начало обработки пакета заявок, заявок: {}", requests.size());
+        return batchPreScoringService.calculatePreOffers(requests);
+    }
+
+    /**
+     * Both batch variants read the body one application at a time and stop at {@code calculator.batch.max-size},
+     * so an oversized batch is rejected before it is held in memory.
+     */
+    private void addToBatch(List<LoanStatementRequestDto> requests, LoanStatementRequestDto request) {
+        if (requests.size() == batchProperties.getMaxSize()) {
+            throw new BatchRequestException("Пакет содержит больше " + batchProperties.getMaxSize() + " заявок");
+        }
+        requests.add(request);
+    }
+
+    /**
+     * JSON body even for the NDJSON variant, whose rejection has no stream to write.
+     */
+    private static ResponseEntity<ScoringRejectionDto> rejection(CreditDecision.Rejected rejected) {
+        return ResponseEntity.unprocessableEntity()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ScoringRejectionDto(rejected.reason()));
+    }
 }
@@ -0,0 +1,56 @@
+package calculatorApp.calculator.engine;
+
+import calculatorApp.calculator.model.dto.PaymentScheduleElementDto;
+import calculatorApp.calculator.util.CreditScoring;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * Reference engine: every step in {@link BigDecimal}, rates divided with {@link MathContext#DECIMAL128}.
+ */
+@Component
+@ConditionalOnProperty(name = "calculator.calculation-engine", havingValue = "big-decimal", matchIfMissing = true)
+@Slf4j
+public class BigDecimalCalculationEngine implements CalculationEngine {
+
+    @Override
+    public BigDecimal calculateMonthlyPayment(BigDecimal psk, int termMonths, BigDecimal annualRatePercent) {
+        return CreditScoring.calculateMonthlyPayment(psk, termMonths, annualRatePercent);
+    }
+
+    @Override
+    public void generatePaymentSchedule(BigDecimal psk, int termMonths, BigDecimal annualRatePercent, BigDecimal monthlyPayment,
+                                        LocalDate calculationDate, Consumer<PaymentScheduleElementDto> consumer) {
+        log.debug("Генерация графика платежей");
+
+        BigDecimal remainingDebt = psk;
+
+        for (int month = 1; month <= termMonths; month++) {
+            BigDecimal interestPart = remainingDebt.multiply(annualRatePercent.divide(BigDecimal.valueOf(12 * 100), MathContext.DECIMAL128));
+            BigDecimal debtPart = monthlyPayment.subtract(interestPart);
+
+            if (remainingDebt.compareTo(debtPart) < 0) {
+                debtPart = remainingDebt;
+                monthlyPayment = interestPart.add(debtPart);
+            }
+
+            remainingDebt = remainingDebt.subtract(debtPart);
+
+            consumer.accept(new PaymentScheduleElementDto(
+                    month,
+                    calculationDate.plusMonths(month),
+                    monthlyPayment.setScale(2, RoundingMode.HALF_UP),
+                    interestPart.setScale(2, RoundingMode.HALF_UP),
+                    debtPart.setScale(2, RoundingMode.HALF_UP),
+                    remainingDebt.max(BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP)
+            ));
+        }
+    }
+}
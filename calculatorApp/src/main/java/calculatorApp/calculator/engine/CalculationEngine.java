@@ -0,0 +1,39 @@
+package calculatorApp.calculator.engine;
+
+import calculatorApp.calculator.model.dto.PaymentScheduleElementDto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Annuity and payment schedule arithmetic used by {@link calculatorApp.calculator.service.ScoringServiceImpl}.
+ * The implementation is chosen per deployment with the {@code calculator.calculation-engine} property.
+ */
+public interface CalculationEngine {
+
+    /**
+     * Unrounded annuity payment for {@code psk} repaid over {@code termMonths} at {@code annualRatePercent}.
+     */
+    BigDecimal calculateMonthlyPayment(BigDecimal psk, int termMonths, BigDecimal annualRatePercent);
+
+    /**
+     * Monthly schedule with every amount rounded {@code HALF_UP} to kopecks. Payment {@code n} is dated
+     * {@code calculationDate} plus {@code n} months.
+     */
+    default List<PaymentScheduleElementDto> generatePaymentSchedule(BigDecimal psk, int termMonths, BigDecimal annualRatePercent,
+                                                                    BigDecimal monthlyPayment, LocalDate calculationDate) {
+        List<PaymentScheduleElementDto> schedule = new ArrayList<>(Math.max(termMonths, 0));
+        generatePaymentSchedule(psk, termMonths, annualRatePercent, monthlyPayment, calculationDate, schedule::add);
+        return schedule;
+    }
+
+    /**
+     * Same schedule as {@link #generatePaymentSchedule(BigDecimal, int, BigDecimal, BigDecimal, LocalDate)}, passed to
+     * {@code consumer} row by row in month order as soon as each row is calculated, without keeping earlier rows.
+     */
+    void generatePaymentSchedule(BigDecimal psk, int termMonths, BigDecimal annualRatePercent, BigDecimal monthlyPayment,
+                                 LocalDate calculationDate, Consumer<PaymentScheduleElementDto> consumer);
+}
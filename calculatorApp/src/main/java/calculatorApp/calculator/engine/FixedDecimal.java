@@ -0,0 +1,241 @@
+package calculatorApp.calculator.engine;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Mutable non-negative fixed-point number stored in primitive {@code long} digits of base 10^9:
+ * two integer digits (values below 10^18) and four fractional digits (36 decimal places).
+ * <p>
+ * Arithmetic truncates everything below the last fractional digit. Results that would be negative or
+ * would not fit into the integer digits throw {@link ArithmeticException}. Instances are meant to be
+ * allocated once per calculation and reused, so loops over them do not allocate.
+ */
+final class FixedDecimal implements Comparable<FixedDecimal> {
+    static final int FRACTION_PLACES = 36;
+
+    private static final long BASE = 1_000_000_000L;
+    private static final int FRACTION_DIGITS = 4;
+    private static final int DIGITS = 6;
+    private static final long HALF = BASE / 2;
+    /**
+     * Half-width of the band around a rounding boundary, in units of the second fractional digit (10^-18):
+     * 10^6 units = 10^-12 of the integer unit.
+     */
+    private static final long GUARD = 1_000_000L;
+    private static final BigInteger BIG_BASE = BigInteger.valueOf(BASE);
+    private static final BigInteger LIMIT = BigInteger.TEN.pow(18 + FRACTION_PLACES);
+
+    /**
+     * Little-endian digits: {@code digits[0]} is the 10^-36 digit, {@code digits[4]} the units digit.
+     */
+    private final long[] digits = new long[DIGITS];
+    private final long[] product = new long[2 * DIGITS];
+
+    FixedDecimal setZero() {
+        java.util.Arrays.fill(digits, 0);
+        return this;
+    }
+
+    FixedDecimal set(FixedDecimal other) {
+        System.arraycopy(other.digits, 0, digits, 0, DIGITS);
+        return this;
+    }
+
+    FixedDecimal setLong(long value) {
+        if (value < 0 || value >= BASE * BASE) {
+            throw new ArithmeticException("Value out of fixed-point range: " + value);
+        }
+        setZero();
+        digits[FRACTION_DIGITS] = value % BASE;
+        digits[FRACTION_DIGITS + 1] = value / BASE;
+        return this;
+    }
+
+    /**
+     * Approximate assignment, only used to seed iterative refinements.
+     */
+    FixedDecimal setDouble(double value) {
+        long integer = (long) value;
+        double fraction = (value - integer) * BASE;
+        long first = (long) fraction;
+        long second = (long) ((fraction - first) * BASE);
+        setLong(integer);
+        digits[FRACTION_DIGITS - 1] = first;
+        digits[FRACTION_DIGITS - 2] = second;
+        return this;
+    }
+
+    /**
+     * Assigns {@code value} if it is representable without rounding.
+     *
+     * @return false if the value is negative, too large or has more than 36 decimal places
+     */
+    boolean setExact(BigDecimal value) {
+        if (value.signum() < 0) {
+            return false;
+        }
+        BigInteger unscaled;
+        try {
+            unscaled = value.movePointRight(FRACTION_PLACES).setScale(0, RoundingMode.UNNECESSARY).toBigInteger();
+        } catch (ArithmeticException e) {
+            return false;
+        }
+        if (unscaled.compareTo(LIMIT) >= 0) {
+            return false;
+        }
+        for (int i = 0; i < DIGITS; i++) {
+            BigInteger[] quotientAndRemainder = unscaled.divideAndRemainder(BIG_BASE);
+            digits[i] = quotientAndRemainder[1].longValue();
+            unscaled = quotientAndRemainder[0];
+        }
+        return true;
+    }
+
+    BigDecimal toBigDecimal() {
+        BigInteger unscaled = BigInteger.ZERO;
+        for (int i = DIGITS - 1; i >= 0; i--) {
+            unscaled = unscaled.multiply(BIG_BASE).add(BigInteger.valueOf(digits[i]));
+        }
+        return new BigDecimal(unscaled, FRACTION_PLACES);
+    }
+
+    double toDouble() {
+        return digits[FRACTION_DIGITS + 1] * (double) BASE + digits[FRACTION_DIGITS]
+                + digits[FRACTION_DIGITS - 1] / (double) BASE
+                + digits[FRACTION_DIGITS - 2] / ((double) BASE * BASE);
+    }
+
+    FixedDecimal add(FixedDecimal other) {
+        long carry = 0;
+        for (int i = 0; i < DIGITS; i++) {
+            long sum = digits[i] + other.digits[i] + carry;
+            carry = sum >= BASE ? 1 : 0;
+            digits[i] = sum - carry * BASE;
+        }
+        if (carry != 0) {
+            throw new ArithmeticException("Fixed-point overflow");
+        }
+        return this;
+    }
+
+    FixedDecimal subtract(FixedDecimal other) {
+        long borrow = 0;
+        for (int i = 0; i < DIGITS; i++) {
+            long difference = digits[i] - other.digits[i] - borrow;
+            borrow = difference < 0 ? 1 : 0;
+            digits[i] = difference + borrow * BASE;
+        }
+        if (borrow != 0) {
+            throw new ArithmeticException("Negative fixed-point result");
+        }
+        return this;
+    }
+
+    /**
+     * {@code this = left * right}, truncated to 36 decimal places. Either argument may be {@code this}.
+     */
+    FixedDecimal multiply(FixedDecimal left, FixedDecimal right) {
+        java.util.Arrays.fill(product, 0);
+        for (int i = 0; i < DIGITS; i++) {
+            long multiplier = left.digits[i];
+            if (multiplier == 0) {
+                continue;
+            }
+            long carry = 0;
+            for (int j = 0; j < DIGITS; j++) {
+                long value = product[i + j] + multiplier * right.digits[j] + carry;
+                carry = value / BASE;
+                product[i + j] = value - carry * BASE;
+            }
+            product[i + DIGITS] += carry;
+        }
+        for (int i = DIGITS + FRACTION_DIGITS; i < product.length; i++) {
+            if (product[i] != 0) {
+                throw new ArithmeticException("Fixed-point overflow");
+            }
+        }
+        System.arraycopy(product, FRACTION_DIGITS, digits, 0, DIGITS);
+        return this;
+    }
+
+    /**
+     * {@code this = 1 / value} by Newton iteration seeded from a double approximation.
+     *
+     * @param scratch temporary storage, must be distinct from {@code this} and {@code value}
+     */
+    FixedDecimal reciprocal(FixedDecimal value, FixedDecimal scratch, FixedDecimal two) {
+        setDouble(1 / value.toDouble());
+        // the double seed has ~16 correct digits, each step doubles them up to the 36 places we keep
+        for (int i = 0; i < 3; i++) {
+            scratch.multiply(value, this);
+            scratch.set(two.setLong(2).subtract(scratch));
+            multiply(this, scratch);
+        }
+        return this;
+    }
+
+    /**
+     * {@code this = base^exponent} by binary exponentiation.
+     *
+     * @param scratch temporary storage, must be distinct from {@code this} and {@code base}
+     */
+    FixedDecimal power(FixedDecimal base, int exponent, FixedDecimal scratch) {
+        setLong(1);
+        scratch.set(base);
+        for (int remaining = exponent; remaining > 0; remaining >>= 1) {
+            if ((remaining & 1) != 0) {
+                multiply(this, scratch);
+            }
+            if (remaining > 1) {
+                scratch.multiply(scratch, scratch);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Integer part rounded {@link RoundingMode#HALF_UP}.
+     */
+    long roundHalfUp() {
+        long integer = digits[FRACTION_DIGITS + 1] * BASE + digits[FRACTION_DIGITS];
+        return digits[FRACTION_DIGITS - 1] >= HALF ? integer + 1 : integer;
+    }
+
+    /**
+     * True when the fraction lies within 10^-12 of one half, i.e. when truncation errors of the
+     * preceding arithmetic could decide the direction of {@link #roundHalfUp()}.
+     */
+    boolean isNearHalf() {
+        long distance = (digits[FRACTION_DIGITS - 1] - HALF) * BASE + digits[FRACTION_DIGITS - 2];
+        return Math.abs(distance) < GUARD;
+    }
+
+    /**
+     * True when the two values differ by less than 10^-12.
+     */
+    boolean isCloseTo(FixedDecimal other) {
+        FixedDecimal larger = compareTo(other) >= 0 ? this : other;
+        FixedDecimal smaller = larger == this ? other : this;
+        long borrow = 0;
+        long[] difference = product;
+        for (int i = 0; i < DIGITS; i++) {
+            long value = larger.digits[i] - smaller.digits[i] - borrow;
+            borrow = value < 0 ? 1 : 0;
+            difference[i] = value + borrow * BASE;
+        }
+        return difference[DIGITS - 1] == 0 && difference[DIGITS - 2] == 0
+                && difference[FRACTION_DIGITS - 1] == 0 && difference[FRACTION_DIGITS - 2] < GUARD;
+    }
+
+    @Override
+    public int compareTo(FixedDecimal other) {
+        for (int i = DIGITS - 1; i >= 0; i--) {
+            if (digits[i] != other.digits[i]) {
+                return Long.compare(digits[i], other.digits[i]);
+            }
+        }
+        return 0;
+    }
+}
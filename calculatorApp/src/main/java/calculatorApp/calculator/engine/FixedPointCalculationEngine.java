@@ -0,0 +1,155 @@
+package calculatorApp.calculator.engine;
+
+import calculatorApp.calculator.model.dto.PaymentScheduleElementDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Engine working on amounts in kopecks held in primitive {@code long} digits ({@link FixedDecimal}).
+ * <p>
+ * Rounding contract: every amount leaving the engine is rounded {@code HALF_UP} to kopecks (scale 2),
+ * exactly like {@link BigDecimalCalculationEngine}. Internally kopecks carry 36 decimal places, which is
+ * many orders of magnitude below the differences that can reach a rounded kopeck for terms up to
+ * {@value #MAX_TERM_MONTHS} months. When a value still lands within 10^-12 kopeck of a rounding boundary,
+ * or the input cannot be represented exactly, the whole calculation is delegated to
+ * {@link BigDecimalCalculationEngine}, so both engines always return the same kopecks.
+ */
+@Component
+@ConditionalOnProperty(name = "calculator.calculation-engine", havingValue = "fixed-point")
+@Slf4j
+public class FixedPointCalculationEngine implements CalculationEngine {
+    static final int MAX_TERM_MONTHS = 600;
+
+    private static final BigDecimal MONTHS_PERCENT = BigDecimal.valueOf(12 * 100);
+
+    private final BigDecimalCalculationEngine reference = new BigDecimalCalculationEngine();
+    private final LongAdder fallbacks = new LongAdder();
+
+    @Override
+    public BigDecimal calculateMonthlyPayment(BigDecimal psk, int termMonths, BigDecimal annualRatePercent) {
+        FixedDecimal amount = new FixedDecimal();
+        FixedDecimal monthlyRate = new FixedDecimal();
+        if (termMonths < 1 || termMonths > MAX_TERM_MONTHS
+                || !amount.setExact(psk.movePointRight(2))
+                || !monthlyRate.setExact(monthlyRate(annualRatePercent))) {
+            return fallbackMonthlyPayment(psk, termMonths, annualRatePercent);
+        }
+
+        try {
+            FixedDecimal one = new FixedDecimal().setLong(1);
+            FixedDecimal scratch = new FixedDecimal();
+            FixedDecimal temp = new FixedDecimal();
+
+            FixedDecimal discount = new FixedDecimal().reciprocal(new FixedDecimal().set(one).add(monthlyRate), scratch, temp);
+            FixedDecimal denominator = new FixedDecimal().set(one).subtract(temp.power(discount, termMonths, scratch));
+            FixedDecimal payment = new FixedDecimal().reciprocal(denominator, scratch, temp);
+            payment.multiply(payment, monthlyRate).multiply(payment, amount);
+
+            if (payment.isNearHalf()) {
+                return fallbackMonthlyPayment(psk, termMonths, annualRatePercent);
+            }
+            return payment.toBigDecimal().movePointLeft(2);
+        } catch (ArithmeticException e) {
+            return fallbackMonthlyPayment(psk, termMonths, annualRatePercent);
+        }
+    }
+
+    @Override
+    public void generatePaymentSchedule(BigDecimal psk, int termMonths, BigDecimal annualRatePercent, BigDecimal monthlyPayment,
+                                        LocalDate calculationDate, Consumer<PaymentScheduleElementDto> consumer) {
+        log.debug("Генерация графика платежей");
+
+        FixedDecimal remainingDebt = new FixedDecimal();
+        FixedDecimal payment = new FixedDecimal();
+        FixedDecimal monthlyRate = new FixedDecimal();
+        if (termMonths > MAX_TERM_MONTHS
+                || !remainingDebt.setExact(psk.movePointRight(2))
+                || !payment.setExact(monthlyPayment.movePointRight(2))
+                || !monthlyRate.setExact(monthlyRate(annualRatePercent))) {
+            fallbackSchedule(psk, termMonths, annualRatePercent, monthlyPayment, calculationDate, consumer, 0);
+            return;
+        }
+
+        FixedDecimal interestPart = new FixedDecimal();
+        FixedDecimal debtPart = new FixedDecimal();
+        int month = 1;
+        try {
+            for (; month <= termMonths; month++) {
+                interestPart.multiply(remainingDebt, monthlyRate);
+                debtPart.set(payment).subtract(interestPart);
+
+                if (month < termMonths && remainingDebt.isCloseTo(debtPart)) {
+                    // the payoff branch below would depend on truncation errors
+                    fallbackSchedule(psk, termMonths, annualRatePercent, monthlyPayment, calculationDate, consumer, month - 1);
+                    return;
+                }
+                if (remainingDebt.compareTo(debtPart) < 0) {
+                    debtPart.set(remainingDebt);
+                    payment.set(interestPart).add(debtPart);
+                }
+
+                remainingDebt.subtract(debtPart);
+
+                if (payment.isNearHalf() || interestPart.isNearHalf()
+                        || debtPart.isNearHalf() || remainingDebt.isNearHalf()) {
+                    fallbackSchedule(psk, termMonths, annualRatePercent, monthlyPayment, calculationDate, consumer, month - 1);
+                    return;
+                }
+
+                consumer.accept(new PaymentScheduleElementDto(
+                        month,
+                        calculationDate.plusMonths(month),
+                        kopecks(payment),
+                        kopecks(interestPart),
+                        kopecks(debtPart),
+                        kopecks(remainingDebt)
+                ));
+            }
+        } catch (ArithmeticException e) {
+            fallbackSchedule(psk, termMonths, annualRatePercent, monthlyPayment, calculationDate, consumer, month - 1);
+        }
+    }
+
+    /**
+     * Number of calculations delegated to {@link BigDecimalCalculationEngine} since startup.
+     */
+    public long getFallbackCount() {
+        return fallbacks.sum();
+    }
+
+    private static BigDecimal monthlyRate(BigDecimal annualRatePercent) {
+        return annualRatePercent.divide(MONTHS_PERCENT, MathContext.DECIMAL128);
+    }
+
+    private static BigDecimal kopecks(FixedDecimal value) {
+        return BigDecimal.valueOf(value.roundHalfUp(), 2);
+    }
+
+    private BigDecimal fallbackMonthlyPayment(BigDecimal psk, int termMonths, BigDecimal annualRatePercent) {
+        fallbacks.increment();
+        log.debug("Расчет платежа выполняется в BigDecimal: psk={}, term={}, rate={}", psk, termMonths, annualRatePercent);
+        return reference.calculateMonthlyPayment(psk, termMonths, annualRatePercent);
+    }
+
+    /**
+     * Rows up to {@code emittedRows} have already been passed to the consumer; they are identical in both
+     * engines, so the reference schedule continues from the next one.
+     */
+    private void fallbackSchedule(BigDecimal psk, int termMonths, BigDecimal annualRatePercent, BigDecimal monthlyPayment,
+                                  LocalDate calculationDate, Consumer<PaymentScheduleElementDto> consumer, int emittedRows) {
+        fallbacks.increment();
+        log.debug("График платежей строится в BigDecimal: psk={}, term={}, rate={}", psk, termMonths, annualRatePercent);
+        reference.generatePaymentSchedule(psk, termMonths, annualRatePercent, monthlyPayment, calculationDate, row -> {
+            if (row.getNumber() > emittedRows) {
+                consumer.accept(row);
+            }
+        });
+    }
+}
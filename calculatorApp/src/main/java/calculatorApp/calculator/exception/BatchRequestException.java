@@ -0,0 +1,15 @@
+package calculatorApp.calculator.exception;
+
+/**
+ * The batch as a whole cannot be processed: it is too large or its body cannot be read.
+ * Problems with single applications are reported per item instead.
+ */
+public class BatchRequestException extends RuntimeException {
+    public BatchRequestException(String message) {
+        super(message);
+    }
+
+    public BatchRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,5 +1,6 @@
 package calculatorApp.calculator.exception.handler;
 
+import calculatorApp.calculator.exception.BatchRequestException;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -78,6 +79,22 @@ public class ControllerExceptionHandler {
         return ResponseEntity.badRequest().body(response);
     }
 
+    @ApiResponse(responseCode = "400", description = "Batch cannot be processed",
+            content = @Content(mediaType = "application/json",
+                    schema = @Schema(implementation = ErrorResponse.class)))
+    @ExceptionHandler(BatchRequestException.class)
+    public ResponseEntity<ErrorResponse> handleBatchExceptions(BatchRequestException ex) {
+        log.warn("Пакет заявок отклонен: {}", ex.getMessage());
+        ErrorResponse response = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                ex.getMessage(),
+                List.of()
+        );
+
+        return ResponseEntity.badRequest().body(response);
+    }
+
     private String extractFieldName(String errorMessage) {
         try {
             return errorMessage.split("type `[^`]+` from String")[0]
@@ -0,0 +1,21 @@
+package calculatorApp.calculator.model.dto;
+
+import calculatorApp.calculator.exception.handler.ControllerExceptionHandler.ErrorDetail;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOfferResultDto {
+    @Schema(description = "Порядковый номер заявки в пакете, начиная с 0")
+    private int index;
+    @Schema(description = "Кредитные предложения; отсутствуют, если заявка не прошла проверку")
+    private List<LoanOfferDto> offers;
+    @Schema(description = "Ошибки заявки; отсутствуют, если предложения рассчитаны")
+    private List<ErrorDetail> errors;
+}
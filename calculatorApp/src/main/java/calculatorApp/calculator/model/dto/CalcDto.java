@@ -1,20 +1,9 @@
 package calculatorApp.calculator.model.dto;
 
-import lombok.AccessLevel;
-import lombok.Builder;
-import lombok.Data;
-import lombok.experimental.FieldDefaults;
-
 import java.math.BigDecimal;
-import java.util.UUID;
 
-@Data
-@FieldDefaults(level = AccessLevel.PRIVATE)
-@Builder
-public class CalcDto {
-    UUID statementId;
-    BigDecimal amount;
-    Integer term;
-    Boolean isInsuranceEnabled;
-    Boolean isSalaryClient;
-}
\ No newline at end of file
+/**
+ * One pre-scoring variant of an application.
+ */
+public record CalcDto(BigDecimal amount, Integer term, boolean isInsuranceEnabled, boolean isSalaryClient) {
+}
@@ -0,0 +1,25 @@
+package calculatorApp.calculator.model.dto;
+
+import calculatorApp.calculator.scoring.RejectStage;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Counts cover the applications that went through the reject stages; decisions served by the scoring cache skip them
+ * and are counted only in {@code calculator.scoring.decisions{source=cache}}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RejectStageStatsDto {
+    @Schema(description = "Проверка скоринга")
+    private RejectStage stage;
+    @Schema(description = "Позиция проверки в текущем порядке, начиная с 0")
+    private int position;
+    @Schema(description = "Сколько заявок прошло через проверку с момента запуска")
+    private long evaluated;
+    @Schema(description = "Сколько заявок проверка отклонила с момента запуска")
+    private long rejected;
+}
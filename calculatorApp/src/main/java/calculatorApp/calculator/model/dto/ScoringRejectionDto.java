@@ -0,0 +1,14 @@
+package calculatorApp.calculator.model.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoringRejectionDto {
+    @Schema(description = "Причина отказа", example = "Возраст вне допустимых границ")
+    private String rejectionReason;
+}
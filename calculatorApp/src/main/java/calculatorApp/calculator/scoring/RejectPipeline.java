@@ -0,0 +1,115 @@
+package calculatorApp.calculator.scoring;
+
+import calculatorApp.calculator.config.ScoringRulesProperties;
+import calculatorApp.calculator.model.dto.ScoringDataDto;
+import calculatorApp.calculator.model.dto.ScoringResultDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+
+/**
+ * Runs the {@link RejectStage}s of the current {@link ScoringRules} in a configured order and counts how often
+ * each stage rejects.
+ * <p>
+ * With {@code calculator.scoring.adaptive-order} on, the order is revised every
+ * {@code calculator.scoring.reorder-interval}: stages are sorted by cost per rejection observed since the previous
+ * revision, so the stage that rejects most for the least work runs first. A revision waits until every stage has
+ * {@code reorder-min-samples} checks. The order is published with a single volatile write.
+ * <p>
+ * The checks and rejections of each stage are published to any {@link MeterRegistry} in the context.
+ */
+@Component
+@Slf4j
+public class RejectPipeline implements MeterBinder {
+    private final RejectStageCounters counters = new RejectStageCounters();
+    private final boolean adaptiveOrder;
+    private final long reorderMinSamples;
+    private volatile List<RejectStage> order;
+
+    private final long[] lastEvaluated = new long[RejectStage.values().length];
+    private final long[] lastRejected = new long[RejectStage.values().length];
+
+    public RejectPipeline(ScoringRulesProperties properties) {
+        this.order = validate(properties.getRejectOrder());
+        this.adaptiveOrder = properties.isAdaptiveOrder();
+        this.reorderMinSamples = properties.getReorderMinSamples();
+        log.info("Порядок проверок скоринга: {}, адаптивный: {}", order, adaptiveOrder);
+    }
+
+    public ScoringResultDto evaluate(ScoringRules rules, ScoringDataDto data, int age) {
+        return rules.evaluate(data, age, order, counters);
+    }
+
+    public List<RejectStage> getOrder() {
+        return order;
+    }
+
+    public RejectStageCounters getCounters() {
+        return counters;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (RejectStage stage : RejectStage.values()) {
+            FunctionCounter.builder("calculator.scoring.stage.evaluated", counters, c -> c.getEvaluated(stage))
+                    .tag("stage", stage.name())
+                    .register(registry);
+            FunctionCounter.builder("calculator.scoring.stage.rejected", counters, c -> c.getRejected(stage))
+                    .tag("stage", stage.name())
+                    .register(registry);
+        }
+    }
+
+    /**
+     * @return {@code true} if the order changed
+     */
+    @Scheduled(initialDelayString = "${calculator.scoring.reorder-interval:1m}",
+            fixedDelayString = "${calculator.scoring.reorder-interval:1m}")
+    public synchronized boolean reorder() {
+        if (!adaptiveOrder) {
+            return false;
+        }
+        double[] costPerReject = new double[RejectStage.values().length];
+        for (RejectStage stage : RejectStage.values()) {
+            long evaluated = counters.getEvaluated(stage) - lastEvaluated[stage.ordinal()];
+            long rejected = counters.getRejected(stage) - lastRejected[stage.ordinal()];
+            if (evaluated < reorderMinSamples) {
+                return false;
+            }
+            costPerReject[stage.ordinal()] = rejected == 0
+                    ? Double.POSITIVE_INFINITY
+                    : stage.cost() * (double) evaluated / rejected;
+        }
+        for (RejectStage stage : RejectStage.values()) {
+            lastEvaluated[stage.ordinal()] = counters.getEvaluated(stage);
+            lastRejected[stage.ordinal()] = counters.getRejected(stage);
+        }
+
+        List<RejectStage> current = order;
+        List<RejectStage> revised = new ArrayList<>(current);
+        // stable, so stages with equal cost per rejection keep their relative order
+        revised.sort(Comparator.comparingDouble(stage -> costPerReject[stage.ordinal()]));
+        if (revised.equals(current)) {
+            return false;
+        }
+        order = List.copyOf(revised);
+        log.info("Порядок проверок скоринга изменен: {} -> {}", current, order);
+        return true;
+    }
+
+    private static List<RejectStage> validate(List<RejectStage> order) {
+        if (order == null || order.size() != RejectStage.values().length
+                || !EnumSet.copyOf(order).equals(EnumSet.allOf(RejectStage.class))) {
+            throw new IllegalArgumentException("Порядок проверок скоринга должен содержать каждую проверку ровно один раз: " + order);
+        }
+        return List.copyOf(order);
+    }
+}
@@ -0,0 +1,45 @@
+package calculatorApp.calculator.scoring;
+
+import java.util.List;
+
+/**
+ * Hard-reject checks of {@link ScoringRules}, run in the order held by {@link RejectPipeline} before any rate
+ * adjustment is looked at. The first failing stage decides the rejection reason.
+ */
+public enum RejectStage {
+    AGE(1, false),
+    EXPERIENCE(1, true),
+    EMPLOYMENT_STATUS(1, true),
+    /**
+     * Multiplies the salary, so the only stage that allocates.
+     */
+    SALARY(4, true);
+
+    /**
+     * The order of the checks before they became a pipeline; rejection reasons of applications failing several
+     * stages stay the same as long as it is kept.
+     */
+    public static final List<RejectStage> DEFAULT_ORDER = List.of(AGE, EXPERIENCE, SALARY, EMPLOYMENT_STATUS);
+
+    private final int cost;
+    private final boolean employment;
+
+    RejectStage(int cost, boolean employment) {
+        this.cost = cost;
+        this.employment = employment;
+    }
+
+    /**
+     * Relative cost of one check, used when the order is adapted to the observed rejection rates.
+     */
+    public int cost() {
+        return cost;
+    }
+
+    /**
+     * True if the stage checks employment data and is skipped for applications without it.
+     */
+    public boolean requiresEmployment() {
+        return employment;
+    }
+}
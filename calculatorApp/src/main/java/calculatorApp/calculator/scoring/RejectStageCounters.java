@@ -0,0 +1,35 @@
+package calculatorApp.calculator.scoring;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * How many applications each {@link RejectStage} checked and how many it rejected. Safe for concurrent updates;
+ * a stage skipped for an application is not counted.
+ */
+public final class RejectStageCounters {
+    private final LongAdder[] evaluated = adders();
+    private final LongAdder[] rejected = adders();
+
+    void record(RejectStage stage, boolean reject) {
+        evaluated[stage.ordinal()].increment();
+        if (reject) {
+            rejected[stage.ordinal()].increment();
+        }
+    }
+
+    public long getEvaluated(RejectStage stage) {
+        return evaluated[stage.ordinal()].sum();
+    }
+
+    public long getRejected(RejectStage stage) {
+        return rejected[stage.ordinal()].sum();
+    }
+
+    private static LongAdder[] adders() {
+        LongAdder[] adders = new LongAdder[RejectStage.values().length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
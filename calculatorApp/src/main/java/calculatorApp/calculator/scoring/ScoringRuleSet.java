@@ -0,0 +1,48 @@
+package calculatorApp.calculator.scoring;
+
+import calculatorApp.calculator.model.enumerated.EmploymentStatusEnum;
+import calculatorApp.calculator.model.enumerated.Gender;
+import calculatorApp.calculator.model.enumerated.MaritalStatus;
+import calculatorApp.calculator.model.enumerated.Position;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Declarative scoring rules as read from {@code calculator.scoring.rules-location}. Rate values are percentage
+ * points added to {@code baseRate}; enum values missing from a map do not change the rate.
+ */
+public record ScoringRuleSet(
+        BigDecimal baseRate,
+        AgeRule age,
+        Map<MaritalStatus, BigDecimal> maritalStatus,
+        List<GenderRule> gender,
+        EmploymentRules employment) {
+
+    /**
+     * Applicants younger than {@code min} or older than {@code max} full years are rejected.
+     */
+    public record AgeRule(int min, int max, String rejectionReason) {
+    }
+
+    /**
+     * Rate delta for a gender within an age band; missing bounds are open. The first matching band wins.
+     */
+    public record GenderRule(Gender gender, Integer minAge, Integer maxAge, BigDecimal delta) {
+    }
+
+    /**
+     * Checked only for applicants that send employment data.
+     */
+    public record EmploymentRules(
+            int minTotalExperienceMonths,
+            int minCurrentExperienceMonths,
+            String experienceRejectionReason,
+            BigDecimal maxSalaryMultiple,
+            String salaryRejectionReason,
+            Map<EmploymentStatusEnum, String> rejectedStatuses,
+            Map<EmploymentStatusEnum, BigDecimal> status,
+            Map<Position, BigDecimal> position) {
+    }
+}
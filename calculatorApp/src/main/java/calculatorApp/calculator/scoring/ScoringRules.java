@@ -0,0 +1,223 @@
+package calculatorApp.calculator.scoring;
+
+import calculatorApp.calculator.model.dto.EmploymentDto;
+import calculatorApp.calculator.model.dto.ScoringDataDto;
+import calculatorApp.calculator.model.dto.ScoringResultDto;
+import calculatorApp.calculator.model.enumerated.EmploymentStatusEnum;
+import calculatorApp.calculator.model.enumerated.Gender;
+import calculatorApp.calculator.model.enumerated.Position;
+import calculatorApp.calculator.util.RateAdjustmentMatrix;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * A {@link ScoringRuleSet} compiled into flat tables: the hard rejections become plain thresholds and tables
+ * indexed by enum ordinal, checked as {@link RejectStage}s, the rate adjustments a {@link RateAdjustmentMatrix} in basis points. The rate has the
+ * finest scale used in the rule set, which must not be finer than a basis point.
+ * Instances are immutable and safe to share between threads.
+ */
+public final class ScoringRules {
+    private final int minAge;
+    private final int maxAge;
+    private final String ageRejectionReason;
+
+    private final boolean employmentRules;
+    private final int minTotalExperienceMonths;
+    private final int minCurrentExperienceMonths;
+    private final String experienceRejectionReason;
+    private final BigDecimal maxSalaryMultiple;
+    private final String salaryRejectionReason;
+    /**
+     * Rejection reason by status ordinal, {@code null} for accepted statuses.
+     */
+    private final String[] statusRejectionReasons;
+
+    private final RateAdjustmentMatrix rateMatrix;
+
+    private ScoringRules(ScoringRuleSet ruleSet) {
+        ScoringRuleSet.AgeRule age = require(ruleSet.age(), "age");
+        if (age.min() < 0 || age.max() < age.min() || age.max() > 150) {
+            throw new IllegalArgumentException("Недопустимые границы возраста: " + age.min() + ".." + age.max());
+        }
+        ScoringRuleSet.EmploymentRules employment = ruleSet.employment();
+
+        minAge = age.min();
+        maxAge = age.max();
+        ageRejectionReason = require(age.rejectionReason(), "age.rejectionReason");
+
+        employmentRules = employment != null;
+        if (employmentRules) {
+            minTotalExperienceMonths = employment.minTotalExperienceMonths();
+            minCurrentExperienceMonths = employment.minCurrentExperienceMonths();
+            experienceRejectionReason = require(employment.experienceRejectionReason(), "employment.experienceRejectionReason");
+            maxSalaryMultiple = employment.maxSalaryMultiple();
+            salaryRejectionReason = maxSalaryMultiple != null
+                    ? require(employment.salaryRejectionReason(), "employment.salaryRejectionReason")
+                    : null;
+            statusRejectionReasons = new String[EmploymentStatusEnum.values().length];
+            if (employment.rejectedStatuses() != null) {
+                employment.rejectedStatuses().forEach((status, reason) ->
+                        statusRejectionReasons[status.ordinal()] = require(reason, "employment.rejectedStatuses." + status));
+            }
+        } else {
+            minTotalExperienceMonths = 0;
+            minCurrentExperienceMonths = 0;
+            experienceRejectionReason = null;
+            maxSalaryMultiple = null;
+            salaryRejectionReason = null;
+            statusRejectionReasons = new String[EmploymentStatusEnum.values().length];
+        }
+
+        rateMatrix = new RateAdjustmentMatrix(
+                basisPoints(require(ruleSet.baseRate(), "baseRate")),
+                scaleOf(ruleSet),
+                deltas(ruleSet.maritalStatus()),
+                (gender, years) -> genderDelta(ruleSet.gender(), gender, years),
+                maxAge,
+                employment != null ? deltas(employment.status()) : Map.of(),
+                employment != null ? deltas(employment.position()) : Map.of());
+    }
+
+    /**
+     * @throws IllegalArgumentException if the rule set is incomplete or inconsistent
+     */
+    public static ScoringRules compile(ScoringRuleSet ruleSet) {
+        return new ScoringRules(ruleSet);
+    }
+
+    /**
+     * Scores an application of an applicant aged {@code age} full years on the calculation date, running the
+     * reject stages in {@link RejectStage#DEFAULT_ORDER}.
+     */
+    public ScoringResultDto evaluate(ScoringDataDto data, int age) {
+        return evaluate(data, age, RejectStage.DEFAULT_ORDER, null);
+    }
+
+    /**
+     * Scores an application, running the reject stages in {@code order} and stopping at the first one that fails.
+     * The rate is only looked up for applications that pass every stage.
+     *
+     * @param order    every {@link RejectStage} exactly once
+     * @param counters updated for every stage that runs, may be {@code null}
+     */
+    public ScoringResultDto evaluate(ScoringDataDto data, int age, List<RejectStage> order, RejectStageCounters counters) {
+        EmploymentDto employment = employmentRules ? data.getEmployment() : null;
+        for (int i = 0; i < order.size(); i++) {
+            RejectStage stage = order.get(i);
+            if (stage.requiresEmployment() && employment == null) {
+                continue;
+            }
+            boolean rejects = rejects(stage, data, employment, age);
+            if (counters != null) {
+                counters.record(stage, rejects);
+            }
+            if (rejects) {
+                return rejected(rejectionReason(stage, employment));
+            }
+        }
+
+        EmploymentStatusEnum status = employment != null ? employment.getEmploymentStatus() : null;
+        Position position = employment != null ? employment.getPosition() : null;
+        return new ScoringResultDto(
+                rateMatrix.rate(data.getMaritalStatus(), data.getGender(), age, status, position), true, null);
+    }
+
+    /**
+     * @return true if the application fails the stage
+     */
+    private boolean rejects(RejectStage stage, ScoringDataDto data, EmploymentDto employment, int age) {
+        return switch (stage) {
+            case AGE -> age < minAge || age > maxAge;
+            case EXPERIENCE -> {
+                int totalExperienceMonths = employment.getWorkExperienceTotal() != null ? employment.getWorkExperienceTotal() : 0;
+                int currentExperienceMonths = employment.getGetWorkExperienceCurrent() != null ? employment.getGetWorkExperienceCurrent() : 0;
+                yield totalExperienceMonths < minTotalExperienceMonths || currentExperienceMonths < minCurrentExperienceMonths;
+            }
+            case EMPLOYMENT_STATUS -> {
+                EmploymentStatusEnum status = employment.getEmploymentStatus();
+                yield status != null && statusRejectionReasons[status.ordinal()] != null;
+            }
+            case SALARY -> {
+                BigDecimal salary = employment.getSalary();
+                yield maxSalaryMultiple != null && salary != null && salary.signum() > 0
+                        && data.getAmount().compareTo(salary.multiply(maxSalaryMultiple)) > 0;
+            }
+        };
+    }
+
+    private String rejectionReason(RejectStage stage, EmploymentDto employment) {
+        return switch (stage) {
+            case AGE -> ageRejectionReason;
+            case EXPERIENCE -> experienceRejectionReason;
+            case EMPLOYMENT_STATUS -> statusRejectionReasons[employment.getEmploymentStatus().ordinal()];
+            case SALARY -> salaryRejectionReason;
+        };
+    }
+
+    private static ScoringResultDto rejected(String reason) {
+        return new ScoringResultDto(null, false, reason);
+    }
+
+    private static int genderDelta(List<ScoringRuleSet.GenderRule> rules, Gender gender, int age) {
+        if (rules != null) {
+            for (ScoringRuleSet.GenderRule rule : rules) {
+                if (rule.gender() == gender
+                        && (rule.minAge() == null || age >= rule.minAge())
+                        && (rule.maxAge() == null || age <= rule.maxAge())) {
+                    return basisPoints(require(rule.delta(), "gender.delta"));
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static <E extends Enum<E>> Map<E, Integer> deltas(Map<E, BigDecimal> rates) {
+        Map<E, Integer> deltas = new HashMap<>();
+        if (rates != null) {
+            rates.forEach((value, delta) -> deltas.put(value, basisPoints(require(delta, value.name()))));
+        }
+        return deltas;
+    }
+
+    private static int basisPoints(BigDecimal rate) {
+        try {
+            return rate.movePointRight(2).intValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Ставка должна быть задана с точностью до 0.01: " + rate, e);
+        }
+    }
+
+    /**
+     * The finest scale of any rate value, so that the rate keeps the scale plain {@link BigDecimal} arithmetic on
+     * the same values would give it.
+     */
+    private static int scaleOf(ScoringRuleSet ruleSet) {
+        Stream<BigDecimal> rates = Stream.of(ruleSet.baseRate());
+        if (ruleSet.maritalStatus() != null) {
+            rates = Stream.concat(rates, ruleSet.maritalStatus().values().stream());
+        }
+        if (ruleSet.gender() != null) {
+            rates = Stream.concat(rates, ruleSet.gender().stream().map(ScoringRuleSet.GenderRule::delta));
+        }
+        if (ruleSet.employment() != null) {
+            if (ruleSet.employment().status() != null) {
+                rates = Stream.concat(rates, ruleSet.employment().status().values().stream());
+            }
+            if (ruleSet.employment().position() != null) {
+                rates = Stream.concat(rates, ruleSet.employment().position().values().stream());
+            }
+        }
+        return Math.max(rates.filter(rate -> rate != null).mapToInt(BigDecimal::scale).max().orElse(0), 0);
+    }
+
+    private static <T> T require(T value, String name) {
+        if (value == null) {
+            throw new IllegalArgumentException("Не задано правило скоринга: " + name);
+        }
+        return value;
+    }
+}
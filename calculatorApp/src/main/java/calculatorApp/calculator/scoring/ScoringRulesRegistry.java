@@ -0,0 +1,94 @@
+package calculatorApp.calculator.scoring;
+
+import calculatorApp.calculator.config.ScoringRulesProperties;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Holds the compiled scoring rules in use.
+ * <p>
+ * The rule set is loaded and compiled on startup, a broken rule set fails the start. Afterwards it is read again
+ * every {@code calculator.scoring.reload-interval}; if the content changed, the new rule set is compiled and
+ * published with a single volatile write, so a scoring call sees either the old or the new rules and never a mix.
+ * A rule set that does not compile is logged and the current rules stay in use.
+ */
+@Component
+@Slf4j
+public class ScoringRulesRegistry {
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+    private final Resource location;
+    private volatile LoadedRules current;
+
+    public ScoringRulesRegistry(ScoringRulesProperties properties, ResourceLoader resourceLoader) {
+        this.location = resourceLoader.getResource(properties.getRulesLocation());
+        try {
+            this.current = load(read(location));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать правила скоринга " + location, e);
+        }
+        log.info("Загружены правила скоринга из {}", location);
+    }
+
+    public ScoringRules getRules() {
+        return current.rules();
+    }
+
+    /**
+     * @return {@code true} if a changed rule set was compiled and published
+     */
+    @Scheduled(initialDelayString = "${calculator.scoring.reload-interval:30s}",
+            fixedDelayString = "${calculator.scoring.reload-interval:30s}")
+    public boolean reload() {
+        try {
+            byte[] source = read(location);
+            if (Arrays.equals(source, current.source())) {
+                return false;
+            }
+            current = load(source);
+            log.info("Правила скоринга обновлены из {}", location);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.error("Не удалось обновить правила скоринга из {}, действуют прежние правила", location, e);
+            return false;
+        }
+    }
+
+    /**
+     * Compiles {@code scoring-rules.json} from the classpath, for code running outside the Spring context.
+     */
+    public static ScoringRules loadDefault() {
+        try (InputStream in = ScoringRulesRegistry.class.getResourceAsStream("/scoring-rules.json")) {
+            if (in == null) {
+                throw new IllegalStateException("scoring-rules.json не найден в classpath");
+            }
+            return load(in.readAllBytes()).rules();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static LoadedRules load(byte[] source) throws IOException {
+        return new LoadedRules(ScoringRules.compile(MAPPER.readValue(source, ScoringRuleSet.class)), source);
+    }
+
+    private static byte[] read(Resource resource) throws IOException {
+        try (InputStream in = resource.getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private record LoadedRules(ScoringRules rules, byte[] source) {
+    }
+}
@@ -0,0 +1,38 @@
+package calculatorApp.calculator.service;
+
+import calculatorApp.calculator.util.AnnuityFactorCache;
+import calculatorApp.calculator.util.CreditScoring;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the annuity factor caches of {@link CreditScoring} to any {@link MeterRegistry} in the context, as the
+ * {@code preScoringAnnuityFactors} and {@code monthlyPaymentAnnuityFactors} caches: hit and miss counts in
+ * {@code cache.gets} and the number of stored factors in {@code cache.size}, like the Caffeine caches of the service.
+ */
+@Component
+public class AnnuityFactorMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bind(registry, "preScoringAnnuityFactors", CreditScoring.getPreScoringFactorCache());
+        bind(registry, "monthlyPaymentAnnuityFactors", CreditScoring.getMonthlyPaymentFactorCache());
+    }
+
+    private static void bind(MeterRegistry registry, String name, AnnuityFactorCache<?> cache) {
+        FunctionCounter.builder("cache.gets", cache, AnnuityFactorCache::getHitCount)
+                .tag("cache", name)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cache, AnnuityFactorCache::getMissCount)
+                .tag("cache", name)
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("cache.size", cache, AnnuityFactorCache::size)
+                .tag("cache", name)
+                .register(registry);
+    }
+}
@@ -0,0 +1,11 @@
+package calculatorApp.calculator.service;
+
+import calculatorApp.calculator.model.dto.BatchOfferResultDto;
+import calculatorApp.calculator.model.dto.LoanStatementRequestDto;
+
+import java.util.List;
+
+public interface BatchPreScoringService {
+    List<BatchOfferResultDto> calculatePreOffers(List<LoanStatementRequestDto> requests);
+
+}
@@ -0,0 +1,92 @@
+package calculatorApp.calculator.service;
+
+import calculatorApp.calculator.config.BatchProperties;
+import calculatorApp.calculator.exception.BatchRequestException;
+import calculatorApp.calculator.exception.handler.ControllerExceptionHandler.ErrorDetail;
+import calculatorApp.calculator.model.dto.BatchOfferResultDto;
+import calculatorApp.calculator.model.dto.LoanStatementRequestDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Calculates offers for a list of applications on the shared batch executor. The list is split into chunks
+ * of {@link BatchProperties#getChunkSize()} applications; every application is validated and calculated
+ * independently, so one bad application does not fail the batch.
+ */
+@Service
+@Slf4j
+public class BatchPreScoringServiceImpl implements BatchPreScoringService {
+    private final PreScoringService preScoringService;
+    private final Validator validator;
+    private final ExecutorService executor;
+    private final BatchProperties properties;
+
+    public BatchPreScoringServiceImpl(PreScoringService preScoringService, Validator validator,
+                                      @Qualifier("batchOfferExecutor") ExecutorService executor,
+                                      BatchProperties properties) {
+        this.preScoringService = preScoringService;
+        this.validator = validator;
+        this.executor = executor;
+        this.properties = properties;
+    }
+
+    @Override
+    public List<BatchOfferResultDto> calculatePreOffers(List<LoanStatementRequestDto> requests) {
+        if (requests.size() > properties.getMaxSize()) {
+            throw new BatchRequestException("Пакет содержит больше " + properties.getMaxSize() + " заявок");
+        }
+        log.info("Расчет пакета кредитных предложений, заявок: {}", requests.size());
+
+        BatchOfferResultDto[] results = new BatchOfferResultDto[requests.size()];
+        int chunkSize = Math.max(properties.getChunkSize(), 1);
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int from = 0; from < requests.size(); from += chunkSize) {
+            int start = from;
+            int end = Math.min(from + chunkSize, requests.size());
+            chunks.add(CompletableFuture.runAsync(() -> {
+                for (int i = start; i < end; i++) {
+                    results[i] = calculate(i, requests.get(i));
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+
+        log.info("Пакет кредитных предложений рассчитан, заявок: {}", requests.size());
+        return Arrays.asList(results);
+    }
+
+    private BatchOfferResultDto calculate(int index, LoanStatementRequestDto request) {
+        if (request == null) {
+            return new BatchOfferResultDto(index, null,
+                    List.of(new ErrorDetail("", "null", "Заявка отсутствует", "NotNull")));
+        }
+        Set<ConstraintViolation<LoanStatementRequestDto>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            List<ErrorDetail> errors = violations.stream()
+                    .map(violation -> new ErrorDetail(
+                            violation.getPropertyPath().toString(),
+                            String.valueOf(violation.getInvalidValue()),
+                            violation.getMessage(),
+                            violation.getConstraintDescriptor().getAnnotation().annotationType().getSimpleName()))
+                    .toList();
+            return new BatchOfferResultDto(index, null, errors);
+        }
+        try {
+            return new BatchOfferResultDto(index, preScoringService.calculatePreOffer(request), null);
+        } catch (RuntimeException e) {
+            log.warn("Ошибка расчета заявки {} в пакете", index, e);
+            return new BatchOfferResultDto(index, null,
+                    List.of(new ErrorDetail("", "", "Не удалось рассчитать предложения", "CalculationError")));
+        }
+    }
+}
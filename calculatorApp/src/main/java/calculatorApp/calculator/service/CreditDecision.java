@@ -0,0 +1,16 @@
+package calculatorApp.calculator.service;
+
+import calculatorApp.calculator.model.dto.CreditDto;
+
+/**
+ * Outcome of the full scoring: the calculated credit, or the reason the application was rejected. Rejections are a
+ * regular outcome and are returned, not thrown.
+ */
+public sealed interface CreditDecision {
+
+    record Approved(CreditDto credit) implements CreditDecision {
+    }
+
+    record Rejected(String reason) implements CreditDecision {
+    }
+}
@@ -0,0 +1,99 @@
+package calculatorApp.calculator.service;
+
+import calculatorApp.calculator.config.OfferGridProperties;
+import calculatorApp.calculator.model.dto.LoanOfferDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+/**
+ * Pre-scoring offers by (amount, term). The offers depend on nothing else, so the grid keeps the calculated offers
+ * as templates and hands out copies that differ only in a fresh {@code statementId}.
+ * <p>
+ * The amount key uses {@link BigDecimal#equals}: the scale is part of the key, because the offer amounts keep the
+ * scale of the requested amount. The combinations of {@link OfferGridProperties#getWarmUpAmounts()} and
+ * {@link OfferGridProperties#getWarmUpTerms()} are calculated once the application has started. Hit and miss counts
+ * are published to any {@link MeterRegistry} in the context as the {@code offerGrid} cache.
+ */
+@Component
+@Slf4j
+public class OfferGrid implements MeterBinder {
+    private final OfferGridProperties properties;
+    private final Cache<Key, List<LoanOfferDto>> offers;
+
+    public OfferGrid(OfferGridProperties properties) {
+        this.properties = properties;
+        this.offers = properties.isEnabled()
+                ? Caffeine.newBuilder()
+                        .maximumSize(properties.getMaximumSize())
+                        .recordStats()
+                        .build()
+                : null;
+    }
+
+    /**
+     * Returns copies of the offers for the amount and term, calculating the templates with {@code calculator}
+     * on the first request.
+     */
+    public List<LoanOfferDto> get(BigDecimal amount, Integer term,
+                                  BiFunction<BigDecimal, Integer, List<LoanOfferDto>> calculator) {
+        if (offers == null) {
+            return calculator.apply(amount, term);
+        }
+        List<LoanOfferDto> templates = offers.get(new Key(amount, term), key -> calculator.apply(key.amount(), key.term()));
+        List<LoanOfferDto> result = new ArrayList<>(templates.size());
+        for (LoanOfferDto template : templates) {
+            result.add(new LoanOfferDto(UUID.randomUUID(), template.getRequestedAmount(), template.getTotalAmount(),
+                    template.getTerm(), template.getMonthlyPayment(), template.getRate(),
+                    template.getIsInsuranceEnabled(), template.getIsSalaryClient()));
+        }
+        return result;
+    }
+
+    /**
+     * Calculates the configured amount and term combinations that are not in the grid yet, without counting them
+     * as misses.
+     */
+    public void warmUp(BiFunction<BigDecimal, Integer, List<LoanOfferDto>> calculator) {
+        if (offers == null) {
+            return;
+        }
+        for (BigDecimal amount : properties.getWarmUpAmounts()) {
+            for (Integer term : properties.getWarmUpTerms()) {
+                Key key = new Key(amount, term);
+                if (!offers.asMap().containsKey(key)) {
+                    offers.asMap().putIfAbsent(key, calculator.apply(amount, term));
+                }
+            }
+        }
+        log.info("Сетка кредитных предложений прогрета, комбинаций суммы и срока: {}", offers.estimatedSize());
+    }
+
+    /**
+     * Hit and miss counts since startup, empty when the grid is disabled.
+     */
+    public CacheStats getStats() {
+        return offers != null ? offers.stats() : CacheStats.empty();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (offers != null) {
+            CaffeineCacheMetrics.monitor(registry, offers, "offerGrid");
+        }
+    }
+
+    private record Key(BigDecimal amount, Integer term) {
+    }
+}
@@ -6,6 +6,9 @@ import calculatorApp.calculator.model.dto.LoanStatementRequestDto;
 import java.util.List;
 
 public interface PreScoringService {
+    /**
+     * Offers for every insurance and salary client variant in ascending rate order; clients rely on the order.
+     */
     List<LoanOfferDto> calculatePreOffer(LoanStatementRequestDto requestDto);
 
 }
@@ -0,0 +1,138 @@
+package calculatorApp.calculator.service;
+
+import calculatorApp.calculator.config.ScoringCacheProperties;
+import calculatorApp.calculator.model.dto.CreditDto;
+import calculatorApp.calculator.model.dto.EmploymentDto;
+import calculatorApp.calculator.model.dto.PaymentScheduleElementDto;
+import calculatorApp.calculator.model.dto.ScoringDataDto;
+import calculatorApp.calculator.model.enumerated.EmploymentStatusEnum;
+import calculatorApp.calculator.model.enumerated.Gender;
+import calculatorApp.calculator.model.enumerated.MaritalStatus;
+import calculatorApp.calculator.model.enumerated.Position;
+import calculatorApp.calculator.scoring.ScoringRules;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Scoring decisions, keyed by the fields scoring and the schedule depend on.
+ * <p>
+ * The key holds the age on the calculation date instead of the birthdate, the calculation date itself (it dates the
+ * schedule) and the compiled {@link ScoringRules}, so a rule reload never serves a credit of the previous rules.
+ * Names, passport and account data do not affect the result and are not part of the key. The amount keeps its scale,
+ * which the returned amounts inherit; the salary is only compared and is normalized. Rejections are cached like
+ * approvals, so a resubmitted rejected application is not scored again.
+ * <p>
+ * The cached credit is never handed out: every call, the one that calculated it included, gets its own copy with its
+ * own schedule rows, so a caller modifying its credit cannot change what later requests receive. Hit and miss counts
+ * are published to any {@link MeterRegistry} in the context as the {@code scoringDecisions} cache, and every hit is
+ * counted in {@link ScoringMetrics} with {@code source=cache}, since it does not reach the rules.
+ */
+@Component
+@Slf4j
+public class ScoringDecisionCache implements MeterBinder {
+    private final Cache<Key, CreditDecision> credits;
+    private final ScoringMetrics metrics;
+
+    public ScoringDecisionCache(ScoringCacheProperties properties, ScoringMetrics metrics) {
+        this.metrics = metrics;
+        this.credits = properties.isEnabled()
+                ? Caffeine.newBuilder()
+                        .maximumSize(properties.getMaximumSize())
+                        .expireAfterWrite(properties.getExpireAfterWrite())
+                        .recordStats()
+                        .build()
+                : null;
+        log.info("Кэш расчетов скоринга {}", properties.isEnabled() ? "включен" : "выключен");
+    }
+
+    /**
+     * Returns the decision made for an identical application, or makes and stores it.
+     */
+    public CreditDecision get(ScoringDataDto data, int age, LocalDate calculationDate, ScoringRules rules,
+                              Supplier<CreditDecision> calculation) {
+        if (credits == null) {
+            return calculation.get();
+        }
+        CreditDecision[] calculated = new CreditDecision[1];
+        CreditDecision decision = credits.get(Key.of(data, age, calculationDate, rules),
+                key -> calculated[0] = calculation.get());
+        if (calculated[0] == null) {
+            metrics.recordCachedDecision(decision);
+        }
+        return copyOf(decision);
+    }
+
+    public boolean isEnabled() {
+        return credits != null;
+    }
+
+    /**
+     * Hit and miss counts since startup, empty when the cache is disabled.
+     */
+    public CacheStats getStats() {
+        return credits != null ? credits.stats() : CacheStats.empty();
+    }
+
+    private static CreditDecision copyOf(CreditDecision decision) {
+        if (!(decision instanceof CreditDecision.Approved approved)) {
+            return decision;
+        }
+        CreditDto credit = approved.credit();
+        List<PaymentScheduleElementDto> schedule = credit.getPaymentSchedule() == null ? null
+                : credit.getPaymentSchedule().stream()
+                        .map(row -> new PaymentScheduleElementDto(row.getNumber(), row.getDate(), row.getTotalPayment(),
+                                row.getInterestPayment(), row.getDebtPayment(), row.getRemainingDebt()))
+                        .collect(Collectors.toCollection(ArrayList::new));
+        return new CreditDecision.Approved(credit.toBuilder().paymentSchedule(schedule).build());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (credits != null) {
+            CaffeineCacheMetrics.monitor(registry, credits, "scoringDecisions");
+        }
+    }
+
+    private record Key(
+            ScoringRules rules,
+            LocalDate calculationDate,
+            BigDecimal amount,
+            Integer term,
+            int age,
+            MaritalStatus maritalStatus,
+            Gender gender,
+            Boolean isInsuranceEnabled,
+            Boolean isSalaryClient,
+            boolean employed,
+            EmploymentStatusEnum employmentStatus,
+            Position position,
+            Integer workExperienceTotal,
+            Integer workExperienceCurrent,
+            BigDecimal salary) {
+
+        static Key of(ScoringDataDto data, int age, LocalDate calculationDate, ScoringRules rules) {
+            EmploymentDto employment = data.getEmployment();
+            return new Key(rules, calculationDate, data.getAmount(), data.getTerm(), age,
+                    data.getMaritalStatus(), data.getGender(), data.getIsInsuranceEnabled(), data.getIsSalaryClient(),
+                    employment != null,
+                    employment != null ? employment.getEmploymentStatus() : null,
+                    employment != null ? employment.getPosition() : null,
+                    employment != null ? employment.getWorkExperienceTotal() : null,
+                    employment != null ? employment.getGetWorkExperienceCurrent() : null,
+                    employment != null && employment.getSalary() != null ? employment.getSalary().stripTrailingZeros() : null);
+        }
+    }
+}
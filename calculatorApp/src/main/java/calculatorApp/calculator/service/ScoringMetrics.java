@@ -0,0 +1,68 @@
+package calculatorApp.calculator.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Scoring outcomes and schedule lengths.
+ * <p>
+ * {@code calculator.scoring.decisions} counts the decisions made, tagged with the outcome, for rejections the reason,
+ * and the source: {@code scoring} when the application went through the rules, {@code cache} when
+ * {@link ScoringDecisionCache} served an earlier decision. The reasons come from the scoring rules, so the number of
+ * tags stays bounded. {@code calculator.schedule.length} is the number
+ * of rows of each generated payment schedule.
+ */
+@Component
+public class ScoringMetrics {
+    private final MeterRegistry registry;
+    private final Counter approved;
+    private final Counter approvedFromCache;
+    private final Map<String, Counter> rejected = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rejectedFromCache = new ConcurrentHashMap<>();
+    private final DistributionSummary scheduleLength;
+
+    public ScoringMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.approved = decisionCounter("scoring", "approved", "none");
+        this.approvedFromCache = decisionCounter("cache", "approved", "none");
+        this.scheduleLength = DistributionSummary.builder("calculator.schedule.length")
+                .baseUnit("rows")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(600.0)
+                .register(registry);
+    }
+
+    public void recordDecision(CreditDecision decision) {
+        switch (decision) {
+            case CreditDecision.Approved ignored -> approved.increment();
+            case CreditDecision.Rejected rejection -> rejected.computeIfAbsent(rejection.reason(), reason ->
+                    decisionCounter("scoring", "rejected", reason)).increment();
+        }
+    }
+
+    public void recordCachedDecision(CreditDecision decision) {
+        switch (decision) {
+            case CreditDecision.Approved ignored -> approvedFromCache.increment();
+            case CreditDecision.Rejected rejection -> rejectedFromCache.computeIfAbsent(rejection.reason(), reason ->
+                    decisionCounter("cache", "rejected", reason)).increment();
+        }
+    }
+
+    public void recordScheduleLength(int rows) {
+        scheduleLength.record(rows);
+    }
+
+    private Counter decisionCounter(String source, String outcome, String reason) {
+        return Counter.builder("calculator.scoring.decisions")
+                .tag("source", source)
+                .tag("outcome", outcome)
+                .tag("reason", reason)
+                .register(registry);
+    }
+}
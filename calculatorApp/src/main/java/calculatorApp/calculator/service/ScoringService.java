@@ -1,8 +1,35 @@
 package calculatorApp.calculator.service;
 
 import calculatorApp.calculator.model.dto.CreditDto;
+import calculatorApp.calculator.model.dto.PaymentScheduleElementDto;
+import calculatorApp.calculator.model.dto.RejectStageStatsDto;
 import calculatorApp.calculator.model.dto.ScoringDataDto;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
 public interface ScoringService {
-    CreditDto calculateCredit(ScoringDataDto data);
+    /**
+     * Full calculation as of the current date of the service clock. The approved credit may be shared with identical
+     * applications and must not be modified.
+     */
+    CreditDecision calculateCredit(ScoringDataDto data);
+
+    /**
+     * Scores the application as of {@code calculationDate} and calculates the credit terms without building the
+     * payment schedule: {@link CreditDto#getPaymentSchedule()} of the approved credit is {@code null}.
+     */
+    CreditDecision calculateCreditTerms(ScoringDataDto data, LocalDate calculationDate);
+
+    /**
+     * Passes the payment schedule of a credit approved by {@link #calculateCreditTerms} to {@code consumer} row by row.
+     * Use the same {@code calculationDate} for both calls.
+     */
+    void generatePaymentSchedule(CreditDto credit, LocalDate calculationDate, Consumer<PaymentScheduleElementDto> consumer);
+
+    /**
+     * Reject stages in their current order with the number of checks and rejections since startup.
+     */
+    List<RejectStageStatsDto> getRejectStageStats();
 }
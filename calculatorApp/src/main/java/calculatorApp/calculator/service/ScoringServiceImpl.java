@@ -1,35 +1,90 @@
 package calculatorApp.calculator.service;
 
+import calculatorApp.calculator.engine.CalculationEngine;
 import calculatorApp.calculator.model.dto.*;
+import calculatorApp.calculator.scoring.RejectPipeline;
+import calculatorApp.calculator.scoring.RejectStage;
+import calculatorApp.calculator.scoring.RejectStageCounters;
+import calculatorApp.calculator.scoring.ScoringRules;
+import calculatorApp.calculator.scoring.ScoringRulesRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.MathContext;
 import java.math.RoundingMode;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static calculatorApp.calculator.util.CreditScoring.*;
 
 @Service
 @ComponentScan
 @Slf4j
+@RequiredArgsConstructor
 public class ScoringServiceImpl implements ScoringService {
+    private final CalculationEngine calculationEngine;
+    private final Clock clock;
+    private final ScoringRulesRegistry scoringRules;
+    private final RejectPipeline rejectPipeline;
+    private final ScoringDecisionCache decisionCache;
+    private final ScoringMetrics metrics;
+    private final ObservationRegistry observationRegistry;
 
     @Override
-    public CreditDto calculateCredit(ScoringDataDto data) {
-        log.info("Начало расчета кредита для клиента. Данные: {}", data);
+    public CreditDecision calculateCredit(ScoringDataDto data) {
+        LocalDate calculationDate = LocalDate.now(clock);
+        ScoringRules rules = scoringRules.getRules();
+        return decisionCache.get(data, calculateAge(data.getBirthdate(), calculationDate), calculationDate, rules,
+                () -> calculateCredit(data, calculationDate, rules));
+    }
+
+    private CreditDecision calculateCredit(ScoringDataDto data, LocalDate calculationDate, ScoringRules rules) {
+        CreditDecision decision = calculateCreditTerms(data, calculationDate, rules);
+        if (!(decision instanceof CreditDecision.Approved approved)) {
+            return decision;
+        }
+        CreditDto result = approved.credit();
+
+        try {
+            List<PaymentScheduleElementDto> schedule = new ArrayList<>(data.getTerm());
+            generatePaymentSchedule(result, calculationDate, schedule::add);
+            log.debug("Сгенерирован график платежей. Количество элементов: {}", schedule.size());
+            result.setPaymentSchedule(schedule);
+
+            log.info("Расчет кредита успешно завершен. Ежемесячный платеж: {}, ПСК: {}", result.getMonthlyPayment(), result.getPsk());
+            // the schedule is rendered only when debug is enabled for this logger
+            log.debug("Результат: {}", result);
+            return decision;
+        } catch (Exception e) {
+            log.error("Ошибка при расчете кредита: {}", e.getMessage(), e);
+            throw new RuntimeException("Произошла ошибка при расчете кредита", e);
+        }
+    }
+
+    @Override
+    public CreditDecision calculateCreditTerms(ScoringDataDto data, LocalDate calculationDate) {
+        return calculateCreditTerms(data, calculationDate, scoringRules.getRules());
+    }
+
+    private CreditDecision calculateCreditTerms(ScoringDataDto data, LocalDate calculationDate, ScoringRules rules) {
+        log.debug("Начало расчета кредита для клиента. Данные: {}", data);
 
         CreditDto result = new CreditDto();
-        ScoringResultDto scoringResult = performScoring(data);
+        ScoringResultDto scoringResult = Observation.createNotStarted("calculator.scoring", observationRegistry)
+                .observe(() -> performScoring(data, calculationDate, rules, rejectPipeline));
 
         if (!scoringResult.isApproved()) {
-            String rejectionMessage = String.format("Заявка отклонена. Причина: %s", scoringResult.getRejectionReason());
-            log.warn(rejectionMessage);
-            throw new RuntimeException(rejectionMessage);
+            log.info("Заявка отклонена. Причина: {}", scoringResult.getRejectionReason());
+            CreditDecision rejection = new CreditDecision.Rejected(scoringResult.getRejectionReason());
+            metrics.recordDecision(rejection);
+            return rejection;
         }
 
         log.info("Заявка одобрена. Установленная ставка: {}%", scoringResult.getRate());
@@ -39,12 +94,9 @@ public class ScoringServiceImpl implements ScoringService {
             BigDecimal psk = calculateTotalCost(data.getAmount(), rate);
             log.debug("Рассчитана полная стоимость кредита (ПСК): {}", psk);
 
-            BigDecimal monthlyPayment = calculateMonthlyPayment(psk, data.getTerm(), rate);
+            BigDecimal monthlyPayment = calculationEngine.calculateMonthlyPayment(psk, data.getTerm(), rate);
             log.debug("Рассчитан ежемесячный платеж: {}", monthlyPayment);
 
-            List<PaymentScheduleElementDto> schedule = generatePaymentSchedule(psk, data.getTerm(), rate, monthlyPayment);
-            log.debug("Сгенерирован график платежей. Количество элементов: {}", schedule.size());
-
             result.setAmount(data.getAmount());
             result.setTerm(data.getTerm());
             result.setMonthlyPayment(monthlyPayment.setScale(2, RoundingMode.HALF_UP));
@@ -52,44 +104,34 @@ public class ScoringServiceImpl implements ScoringService {
             result.setPsk(psk);
             result.setIsSalaryClient(data.getIsSalaryClient());
             result.setIsInsuranceEnabled(data.getIsInsuranceEnabled());
-            result.setPaymentSchedule(schedule);
-
-            log.info("Расчет кредита успешно завершен. Результат: {}", result);
-            return result;
+            CreditDecision approval = new CreditDecision.Approved(result);
+            metrics.recordDecision(approval);
+            return approval;
         } catch (Exception e) {
             log.error("Ошибка при расчете кредита: {}", e.getMessage(), e);
             throw new RuntimeException("Произошла ошибка при расчете кредита", e);
         }
     }
 
-    private List<PaymentScheduleElementDto> generatePaymentSchedule(BigDecimal psk, int termMonths,
-                                                                    BigDecimal annualRatePercent, BigDecimal monthlyPayment) {
-        log.info("Генерация графика платежей");
-
-        List<PaymentScheduleElementDto> schedule = new ArrayList<>();
-        BigDecimal remainingDebt = psk;
-
-        for (int month = 1; month <= termMonths; month++) {
-            BigDecimal interestPart = remainingDebt.multiply(annualRatePercent.divide(BigDecimal.valueOf(12 * 100), MathContext.DECIMAL128));
-            BigDecimal debtPart = monthlyPayment.subtract(interestPart);
-
-            if (remainingDebt.compareTo(debtPart) < 0) {
-                debtPart = remainingDebt;
-                monthlyPayment = interestPart.add(debtPart);
-            }
-
-            remainingDebt = remainingDebt.subtract(debtPart);
+    @Override
+    public void generatePaymentSchedule(CreditDto credit, LocalDate calculationDate, Consumer<PaymentScheduleElementDto> consumer) {
+        // the schedule runs on the unrounded payment, which CreditDto does not carry
+        BigDecimal monthlyPayment = calculationEngine.calculateMonthlyPayment(credit.getPsk(), credit.getTerm(), credit.getRate());
+        Observation.createNotStarted("calculator.schedule", observationRegistry)
+                .observe(() -> calculationEngine.generatePaymentSchedule(credit.getPsk(), credit.getTerm(), credit.getRate(),
+                        monthlyPayment, calculationDate, consumer));
+        metrics.recordScheduleLength(credit.getTerm());
+    }
 
-            schedule.add(new PaymentScheduleElementDto(
-                    month,
-                    LocalDate.now().plusMonths(month),
-                    monthlyPayment.setScale(2, RoundingMode.HALF_UP),
-                    interestPart.setScale(2, RoundingMode.HALF_UP),
-                    debtPart.setScale(2, RoundingMode.HALF_UP),
-                    remainingDebt.max(BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP)
-            ));
+    @Override
+    public List<RejectStageStatsDto> getRejectStageStats() {
+        List<RejectStage> order = rejectPipeline.getOrder();
+        RejectStageCounters counters = rejectPipeline.getCounters();
+        List<RejectStageStatsDto> stats = new ArrayList<>(order.size());
+        for (int i = 0; i < order.size(); i++) {
+            RejectStage stage = order.get(i);
+            stats.add(new RejectStageStatsDto(stage, i, counters.getEvaluated(stage), counters.getRejected(stage)));
         }
-        return schedule;
+        return stats;
     }
-
 }
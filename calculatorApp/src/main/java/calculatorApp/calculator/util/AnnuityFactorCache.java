@@ -0,0 +1,62 @@
+package calculatorApp.calculator.util;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * Memoizes annuity factors by (annual rate, number of payments).
+ * <p>
+ * The set of rates produced by scoring is small and terms are bounded, so after warm-up the power and the
+ * division of the annuity formula become a map lookup. The rate key uses {@link BigDecimal#equals}, i.e. the
+ * scale is part of the key and a cached factor is always the exact value the formula would compute for that
+ * input. Once {@code maxSize} entries are stored, new keys are computed on every call and not cached, so the
+ * cache cannot grow with unusual inputs.
+ *
+ * @param <F> factor type, must not be modified after it has been returned by the calculator
+ */
+public final class AnnuityFactorCache<F> {
+    private final Map<Key, F> factors = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public AnnuityFactorCache(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public F get(BigDecimal annualRate, int payments, BiFunction<BigDecimal, Integer, F> calculator) {
+        Key key = new Key(annualRate, payments);
+        F factor = factors.get(key);
+        if (factor != null) {
+            hits.increment();
+            return factor;
+        }
+        misses.increment();
+        if (factors.size() >= maxSize) {
+            return calculator.apply(annualRate, payments);
+        }
+        return factors.computeIfAbsent(key, k -> calculator.apply(k.annualRate(), k.payments()));
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return factors.size();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    private record Key(BigDecimal annualRate, int payments) {
+    }
+}
@@ -1,10 +1,8 @@
 package calculatorApp.calculator.util;
 
 import calculatorApp.calculator.model.dto.*;
-import calculatorApp.calculator.model.enumerated.EmploymentStatusEnum;
-import calculatorApp.calculator.model.enumerated.Gender;
-import calculatorApp.calculator.model.enumerated.MaritalStatus;
-import calculatorApp.calculator.model.enumerated.Position;
+import calculatorApp.calculator.scoring.RejectPipeline;
+import calculatorApp.calculator.scoring.ScoringRules;
 import lombok.extern.slf4j.Slf4j;
 
 import java.math.BigDecimal;
@@ -12,154 +10,145 @@ import java.math.MathContext;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Slf4j
 public class CreditScoring {
+    private static final int FACTOR_CACHE_SIZE = 1024;
+
+    private static final AnnuityFactorCache<AnnuityFactor> PRE_SCORING_FACTORS = new AnnuityFactorCache<>(FACTOR_CACHE_SIZE);
+    private static final AnnuityFactorCache<AnnuityFactor> MONTHLY_PAYMENT_FACTORS = new AnnuityFactorCache<>(FACTOR_CACHE_SIZE);
+
+    private static final BigDecimal INSURANCE_AMOUNT = BigDecimal.valueOf(50000);
+    /**
+     * Every pre-scoring variant with its rate, sorted once by rate. Equal rates keep the order the offers had when
+     * they were sorted per request: salary client without insurance before insurance without salary client.
+     */
+    private static final List<PreScoringVariant> PRE_SCORING_VARIANTS = Stream.of(
+                    new PreScoringVariant(false, false),
+                    new PreScoringVariant(false, true),
+                    new PreScoringVariant(true, true),
+                    new PreScoringVariant(true, false))
+            .sorted(Comparator.comparing(PreScoringVariant::rate))
+            .toList();
+
     private CreditScoring() {
     }
 
+    /**
+     * Offer for one variant. The insurance amount is added to the offered amounts, {@code calcDto} is not modified.
+     */
     public static LoanOfferDto calculatePreScoring(CalcDto calcDto) {
-        log.info("Добавление резульатов расчета прескоринга");
-        LoanOfferDto result = new LoanOfferDto();
+        log.debug("Добавление резульатов расчета прескоринга");
+        return preScoringOffer(calcDto.amount(), calcDto.term(), calcDto.isInsuranceEnabled(), calcDto.isSalaryClient(),
+                preScoringRate(calcDto.isInsuranceEnabled(), calcDto.isSalaryClient()));
+    }
+
+    /**
+     * Offers for every insurance and salary client variant in ascending rate order.
+     */
+    public static List<LoanOfferDto> calculatePreScoringOffers(BigDecimal amount, Integer term) {
+        log.debug("Добавление резульатов расчета прескоринга");
+        List<LoanOfferDto> offers = new ArrayList<>(PRE_SCORING_VARIANTS.size());
+        for (PreScoringVariant variant : PRE_SCORING_VARIANTS) {
+            offers.add(preScoringOffer(amount, term, variant.isInsuranceEnabled(), variant.isSalaryClient(), variant.rate()));
+        }
+        return offers;
+    }
 
+    private static BigDecimal preScoringRate(boolean isInsuranceEnabled, boolean isSalaryClient) {
         BigDecimal annualRate = BigDecimal.valueOf(20);
-        if (calcDto.getIsInsuranceEnabled()) {
+        if (isInsuranceEnabled) {
             annualRate = annualRate.subtract(BigDecimal.valueOf(1));
-            calcDto.setAmount(calcDto.getAmount().add(BigDecimal.valueOf(50000)));
         }
-
-        if (calcDto.getIsSalaryClient()) {
+        if (isSalaryClient) {
             annualRate = annualRate.subtract(BigDecimal.valueOf(1));
         }
+        return annualRate;
+    }
 
+    private static LoanOfferDto preScoringOffer(BigDecimal requestedAmount, Integer term, boolean isInsuranceEnabled,
+                                                boolean isSalaryClient, BigDecimal annualRate) {
+        BigDecimal amount = isInsuranceEnabled ? requestedAmount.add(INSURANCE_AMOUNT) : requestedAmount;
 
-        BigDecimal monthlyRate = annualRate.divide(BigDecimal.valueOf(12), MathContext.DECIMAL128).divide(BigDecimal.valueOf(100), MathContext.DECIMAL128).setScale(2, RoundingMode.HALF_UP);
-
-        Integer termInYears = calcDto.getTerm();
-        BigDecimal termInYearsBigDecimal = BigDecimal.valueOf(termInYears);
-
-        BigDecimal numberOfPayments = termInYearsBigDecimal.multiply(BigDecimal.valueOf(12)
-        );
-
-        BigDecimal one = BigDecimal.ONE;
-        BigDecimal pow = (one.add(monthlyRate)).pow(numberOfPayments.intValue());
-        BigDecimal numerator = monthlyRate.multiply(pow);
-        BigDecimal denominator = pow.subtract(one);
-        BigDecimal monthlyPayment = calcDto.getAmount().multiply(numerator).divide(denominator, MathContext.DECIMAL128).setScale(2, RoundingMode.HALF_UP);
+        int numberOfPayments = term * 12;
+        AnnuityFactor factor = PRE_SCORING_FACTORS.get(annualRate, numberOfPayments, CreditScoring::preScoringFactor);
+        BigDecimal monthlyPayment = amount.multiply(factor.multiplier()).divide(factor.divisor(), MathContext.DECIMAL128).setScale(2, RoundingMode.HALF_UP);
 
+        LoanOfferDto result = new LoanOfferDto();
         result.setStatementId(UUID.randomUUID());
-        result.setRequestedAmount(calcDto.getAmount());
-        result.setTotalAmount(calcDto.getAmount());
-        result.setIsSalaryClient(calcDto.getIsSalaryClient());
-        result.setIsInsuranceEnabled(calcDto.getIsInsuranceEnabled());
-        result.setTerm(calcDto.getTerm());
+        result.setRequestedAmount(amount);
+        result.setTotalAmount(amount);
+        result.setIsSalaryClient(isSalaryClient);
+        result.setIsInsuranceEnabled(isInsuranceEnabled);
+        result.setTerm(term);
         result.setRate(annualRate);
         result.setMonthlyPayment(monthlyPayment);
         return result;
     }
-    public static ScoringResultDto performScoring(ScoringDataDto data) {
-        log.info("Начало скоринга");
-        ScoringResultDto result = new ScoringResultDto();
-        result.setApproved(true);
-
-        BigDecimal baseRate = new BigDecimal("20");
-        BigDecimal rate = baseRate;
 
-        int age = calculateAge(data.getBirthdate());
-
-        if (age < 20 || age > 65) {
-            result.setApproved(false);
-            result.setRejectionReason("Возраст вне допустимых границ");
-            return result;
-        }
-
-        if (data.getMaritalStatus() == MaritalStatus.MARRIED) {
-            rate = rate.subtract(new BigDecimal("3"));
-        } else if (data.getMaritalStatus() == MaritalStatus.DIVORCED) {
-            rate = rate.add(new BigDecimal("1"));
-        }
+    public static ScoringResultDto performScoring(ScoringDataDto data, LocalDate calculationDate, ScoringRules rules, RejectPipeline pipeline) {
+        log.debug("Начало скоринга");
+        return pipeline.evaluate(rules, data, calculateAge(data.getBirthdate(), calculationDate));
+    }
 
-        Gender gender = data.getGender();
-        if (gender == Gender.FEMALE && age >= 32 && age <= 60) {
-            rate = rate.subtract(new BigDecimal("3"));
-        } else if (gender == Gender.MALE && age >= 30 && age <= 55) {
-            rate = rate.subtract(new BigDecimal("3"));
-        } else if (gender == Gender.NOT_BINARY) {
-            rate = rate.add(new BigDecimal("7"));
-        }
+    public static int calculateAge(LocalDate birthdate, LocalDate calculationDate) {
+        log.debug("Проверка возраста");
+        return Period.between(birthdate, calculationDate).getYears();
+    }
 
-        EmploymentDto employment = data.getEmployment();
-        if (employment != null) {
-            int totalExperienceMonths = employment.getWorkExperienceTotal() != null ? employment.getWorkExperienceTotal() : 0;
-            int currentExperienceMonths = employment.getGetWorkExperienceCurrent() != null ? employment.getGetWorkExperienceCurrent() : 0;
-
-            if (totalExperienceMonths < 18 || currentExperienceMonths < 3) {
-                result.setApproved(false);
-                result.setRejectionReason("Недостаточный стаж работы");
-                return result;
-            }
-
-            BigDecimal salary = employment.getSalary() != null ? employment.getSalary() : BigDecimal.ZERO;
-            if (salary.compareTo(BigDecimal.ZERO) > 0 && data.getAmount().compareTo(salary.multiply(BigDecimal.valueOf(24))) > 0) {
-                result.setApproved(false);
-                result.setRejectionReason("Сумма займа превышает 24 зарплаты");
-                return result;
-            }
-
-            int totalWorkExpMonths = employment.getWorkExperienceTotal() != null ? employment.getWorkExperienceTotal() : Integer.MAX_VALUE;
-            if (totalWorkExpMonths < 18) {
-                result.setApproved(false);
-                result.setRejectionReason("Общий стаж менее 18 месяцев");
-                return result;
-            }
-
-
-            EmploymentStatusEnum status = employment.getEmploymentStatus();
-            if (status == EmploymentStatusEnum.UNEMPLOYED) {
-                result.setApproved(false);
-                result.setRejectionReason("Статус безработный");
-                return result;
-            } else if (status == EmploymentStatusEnum.SELF_EMPLOYED) {
-                rate = rate.add(new BigDecimal("2"));
-            } else if (status == EmploymentStatusEnum.BUSINESS_OWNER) {
-                rate = rate.add(new BigDecimal("1"));
-            }
-
-            Position position = employment.getPosition();
-            if (position == Position.MIDDLE_MANAGER) {
-                rate = rate.subtract(new BigDecimal("2"));
-            } else if (position == Position.TOP_MANAGER) {
-                rate = rate.subtract(new BigDecimal("3"));
-            }
+    public static BigDecimal calculateTotalCost(BigDecimal amount, BigDecimal ratePercent) {
+        log.debug("Расчет полной суммы кредита");
+        return amount.multiply(BigDecimal.ONE.add(ratePercent.divide(BigDecimal.valueOf(100))));
 
-        }
+    }
 
-        result.setRate(rate.max(BigDecimal.ZERO));
+    public static BigDecimal calculateMonthlyPayment(BigDecimal psk, int termMonths, BigDecimal annualRatePercent) {
+        log.debug("Расчет ежемесячного платежа");
+        AnnuityFactor factor = MONTHLY_PAYMENT_FACTORS.get(annualRatePercent, termMonths, CreditScoring::monthlyPaymentFactor);
+        return psk.multiply(factor.multiplier()).divide(factor.divisor(), MathContext.DECIMAL128);
+    }
 
-        return result;
+    public static AnnuityFactorCache<?> getPreScoringFactorCache() {
+        return PRE_SCORING_FACTORS;
     }
 
-    public static int calculateAge(LocalDate birthdate) {
-        log.info("Проверка возраста");
-        return Period.between(birthdate, LocalDate.now()).getYears();
+    public static AnnuityFactorCache<?> getMonthlyPaymentFactorCache() {
+        return MONTHLY_PAYMENT_FACTORS;
     }
 
-    public static BigDecimal calculateTotalCost(BigDecimal amount, BigDecimal ratePercent) {
-        log.info("Расчет полной суммы кредита");
-        return amount.multiply(BigDecimal.ONE.add(ratePercent.divide(BigDecimal.valueOf(100))));
+    private static AnnuityFactor preScoringFactor(BigDecimal annualRate, int numberOfPayments) {
+        BigDecimal monthlyRate = annualRate.divide(BigDecimal.valueOf(12), MathContext.DECIMAL128).divide(BigDecimal.valueOf(100), MathContext.DECIMAL128).setScale(2, RoundingMode.HALF_UP);
 
+        BigDecimal one = BigDecimal.ONE;
+        BigDecimal pow = (one.add(monthlyRate)).pow(numberOfPayments);
+        BigDecimal numerator = monthlyRate.multiply(pow);
+        BigDecimal denominator = pow.subtract(one);
+        return new AnnuityFactor(numerator, denominator);
     }
 
-    public static BigDecimal calculateMonthlyPayment(BigDecimal psk, int termMonths, BigDecimal annualRatePercent) {
-        log.info("Расчет ежемесячного платежа");
+    private static AnnuityFactor monthlyPaymentFactor(BigDecimal annualRatePercent, int termMonths) {
         BigDecimal monthlyRate = annualRatePercent.divide(BigDecimal.valueOf(12 * 100), MathContext.DECIMAL128);
 
-        BigDecimal numerator = psk.multiply(monthlyRate);
         BigDecimal denominatorFactor = BigDecimal.ONE.add(monthlyRate).pow(termMonths);
         denominatorFactor = BigDecimal.ONE.divide(denominatorFactor, MathContext.DECIMAL128);
-        ;
         BigDecimal denominator = BigDecimal.ONE.subtract(denominatorFactor);
-        return numerator.divide(denominator, MathContext.DECIMAL128);
+        return new AnnuityFactor(monthlyRate, denominator);
+    }
+
+    private record PreScoringVariant(boolean isInsuranceEnabled, boolean isSalaryClient, BigDecimal rate) {
+        PreScoringVariant(boolean isInsuranceEnabled, boolean isSalaryClient) {
+            this(isInsuranceEnabled, isSalaryClient, preScoringRate(isInsuranceEnabled, isSalaryClient));
+        }
+    }
+
+    /**
+     * Payment = amount * multiplier / divisor.
+     */
+    private record AnnuityFactor(BigDecimal multiplier, BigDecimal divisor) {
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,130 @@
+package calculatorApp.calculator.util;
+
+import calculatorApp.calculator.model.enumerated.EmploymentStatusEnum;
+import calculatorApp.calculator.model.enumerated.Gender;
+import calculatorApp.calculator.model.enumerated.MaritalStatus;
+import calculatorApp.calculator.model.enumerated.Position;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Precomputed rate adjustments in basis points (hundredths of a percentage point).
+ * <p>
+ * Marital status, employment status and position are folded into one flat table holding the sum of their deltas
+ * for every combination, gender and age into a second one, so a rate is the base rate plus two array reads.
+ * Index 0 of every dimension stands for a missing value and adds nothing. Every reachable rate is also kept as a
+ * {@link BigDecimal} of the output scale, so {@link #rate} does not allocate.
+ */
+public final class RateAdjustmentMatrix {
+    private static final int MARITAL_STATUSES = MaritalStatus.values().length + 1;
+    private static final int EMPLOYMENT_STATUSES = EmploymentStatusEnum.values().length + 1;
+    private static final int POSITIONS = Position.values().length + 1;
+    private static final int GENDERS = Gender.values().length + 1;
+
+    private final int baseRate;
+    private final int maxAge;
+    private final int[] profileDeltas;
+    private final int[] genderAgeDeltas;
+
+    private final int minRate;
+    private final BigDecimal[] rates;
+
+    /**
+     * @param baseRate        base rate in basis points
+     * @param scale           scale of the returned rates, at most 2; every delta must be representable in it
+     * @param maritalStatus   deltas in basis points, missing values add nothing
+     * @param genderAgeDelta  delta in basis points for a gender and an age in full years
+     * @param maxAge          oldest age {@link #rate} is called with
+     */
+    public RateAdjustmentMatrix(int baseRate, int scale,
+                                Map<MaritalStatus, Integer> maritalStatus,
+                                ToIntBiFunction<Gender, Integer> genderAgeDelta, int maxAge,
+                                Map<EmploymentStatusEnum, Integer> employmentStatus,
+                                Map<Position, Integer> position) {
+        if (scale < 0 || scale > 2) {
+            throw new IllegalArgumentException("Недопустимая точность ставки: " + scale);
+        }
+        this.baseRate = baseRate;
+        this.maxAge = maxAge;
+
+        profileDeltas = new int[MARITAL_STATUSES * EMPLOYMENT_STATUSES * POSITIONS];
+        for (int m = 0; m < MARITAL_STATUSES; m++) {
+            for (int s = 0; s < EMPLOYMENT_STATUSES; s++) {
+                for (int p = 0; p < POSITIONS; p++) {
+                    profileDeltas[(m * EMPLOYMENT_STATUSES + s) * POSITIONS + p] =
+                            delta(maritalStatus, MaritalStatus.values(), m)
+                            + delta(employmentStatus, EmploymentStatusEnum.values(), s)
+                            + delta(position, Position.values(), p);
+                }
+            }
+        }
+
+        genderAgeDeltas = new int[GENDERS * (maxAge + 1)];
+        for (Gender gender : Gender.values()) {
+            for (int age = 0; age <= maxAge; age++) {
+                genderAgeDeltas[(gender.ordinal() + 1) * (maxAge + 1) + age] = genderAgeDelta.applyAsInt(gender, age);
+            }
+        }
+
+        minRate = baseRate + min(profileDeltas) + min(genderAgeDeltas);
+        int maxRate = baseRate + max(profileDeltas) + max(genderAgeDeltas);
+        int step = scale == 2 ? 1 : scale == 1 ? 10 : 100;
+        rates = new BigDecimal[maxRate - minRate + 1];
+        for (int i = 0; i < rates.length; i++) {
+            int basisPoints = minRate + i;
+            if (basisPoints < 0) {
+                // same as BigDecimal arithmetic followed by max(ZERO): a negative rate becomes the ZERO constant
+                rates[i] = BigDecimal.ZERO;
+            } else if (basisPoints % step == 0) {
+                rates[i] = BigDecimal.valueOf(basisPoints, 2).setScale(scale, RoundingMode.UNNECESSARY);
+            }
+        }
+    }
+
+    /**
+     * Rate in basis points, not limited at zero. {@code null} arguments add nothing.
+     */
+    public int rateBasisPoints(MaritalStatus maritalStatus, Gender gender, int age,
+                               EmploymentStatusEnum employmentStatus, Position position) {
+        int profile = (index(maritalStatus) * EMPLOYMENT_STATUSES + index(employmentStatus)) * POSITIONS + index(position);
+        return baseRate + profileDeltas[profile] + genderAgeDeltas[index(gender) * (maxAge + 1) + age];
+    }
+
+    /**
+     * Rate in percent, never below zero. {@code age} must be between 0 and {@code maxAge}.
+     */
+    public BigDecimal rate(MaritalStatus maritalStatus, Gender gender, int age,
+                           EmploymentStatusEnum employmentStatus, Position position) {
+        return rates[rateBasisPoints(maritalStatus, gender, age, employmentStatus, position) - minRate];
+    }
+
+    private static int index(Enum<?> value) {
+        return value == null ? 0 : value.ordinal() + 1;
+    }
+
+    private static <E extends Enum<E>> int delta(Map<E, Integer> deltas, E[] values, int index) {
+        if (index == 0 || deltas == null) {
+            return 0;
+        }
+        return deltas.getOrDefault(values[index - 1], 0);
+    }
+
+    private static int min(int[] values) {
+        int min = 0;
+        for (int value : values) {
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+
+    private static int max(int[] values) {
+        int max = 0;
+        for (int value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+}
@@ -1,20 +1,45 @@
 package calculatorApp.calculator.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@AutoConfigureObservability
 public class ScoringControllerTest {
     @Autowired
     private WebApplicationContext webApplicationContext;
@@ -22,6 +47,15 @@ public class ScoringControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
     @Test
     void calculateOfferTest() throws Exception {
         String requestBody = "{"
@@ -57,6 +91,16 @@ public class ScoringControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void rejectStageStatsTest() throws Exception {
+        mockMvc.perform(get("http://localhost:8080/calculator/scoring/stages"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].stage").value("AGE"))
+                .andExpect(jsonPath("$[0].position").value(0))
+                .andExpect(jsonPath("$[3].stage").value("EMPLOYMENT_STATUS"));
+    }
+
     @Test
     void calculateOfferValidationTest() throws Exception {
         String requestBody = "{"
@@ -111,6 +155,20 @@ public class ScoringControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void prometheusEndpointTest() throws Exception {
+        calculatePreOfferTest();
+
+        mockMvc.perform(get("http://localhost:8080/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        containsString("http_server_requests_seconds_bucket{"),
+                        containsString("uri=\"/calculator/offers\""),
+                        containsString("calculator_scoring_stage_evaluated_total{stage=\"AGE\"}"),
+                        containsString("cache_gets_total{cache=\"offerGrid\""),
+                        containsString("cache_gets_total{cache=\"monthlyPaymentAnnuityFactors\",result=\"miss\"}"))));
+    }
+
     @Test
     void calculatePreOfferValidationTest() throws Exception {
         String requestBody = "{"
@@ -161,4 +219,222 @@ public class ScoringControllerTest {
                 .andExpect(jsonPath("$.errors[?(@.field=='passportSeries')].message", hasItem("Серия паспорта должна состоять из 4 цифр")))
                 .andExpect(jsonPath("$.errors[?(@.field=='passportNumber')].message", hasItem("Номер паспорта должен состоять из 6 цифр")));
     }
-}
\ No newline at end of file
+
+    @Test
+    void calculatePreOffersBatchTest() throws Exception {
+        String validRequest = "{"
+                + "\"amount\":200000,"
+                + "\"term\":12,"
+                + "\"firstName\":\"an\","
+                + "\"lastName\":\"lez\","
+                + "\"passportSeries\":\"0374\","
+                + "\"passportNumber\":\"492684\""
+                + "}";
+        String invalidRequest = "{"
+                + "\"amount\":1000,"
+                + "\"term\":12"
+                + "}";
+
+        mockMvc.perform(post("http://localhost:8080/calculator/offers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + validRequest + "," + invalidRequest + "," + validRequest + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].index").value(0))
+                .andExpect(jsonPath("$[0].offers.length()").value(4))
+                .andExpect(jsonPath("$[1].offers").doesNotExist())
+                .andExpect(jsonPath("$[1].errors[0].field").value("amount"))
+                .andExpect(jsonPath("$[1].errors[0].message").value("сумма должна быть не менее 20000"))
+                .andExpect(jsonPath("$[2].index").value(2))
+                .andExpect(jsonPath("$[2].offers.length()").value(4));
+
+        mockMvc.perform(post("http://localhost:8080/calculator/offers/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(validRequest + "\n" + invalidRequest + "\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].offers.length()").value(4))
+                .andExpect(jsonPath("$[1].errors[0].field").value("amount"));
+
+        mockMvc.perform(post("http://localhost:8080/calculator/offers/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(validRequest + "\n{\"amount\":"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Не удалось прочитать заявку 1 пакета"));
+
+        mockMvc.perform(post("http://localhost:8080/calculator/offers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + validRequest + ",{\"amount\":"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Не удалось прочитать заявку 1 пакета"));
+
+        mockMvc.perform(post("http://localhost:8080/calculator/offers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(validRequest))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Пакет должен быть массивом заявок"));
+    }
+
+    @Test
+    void calculatePreOffersBatch_ShouldStopReadingAtMaxSize() throws Exception {
+        String oversized = "[" + "{},".repeat(10_000) + "{}]";
+
+        mockMvc.perform(post("http://localhost:8080/calculator/offers/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(oversized))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Пакет содержит больше 10000 заявок"));
+
+        mockMvc.perform(post("http://localhost:8080/calculator/offers/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{}\n".repeat(10_001)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Пакет содержит больше 10000 заявок"));
+    }
+
+    @Test
+    void calculateCreditStreamTest() throws Exception {
+        String requestBody = "{"
+                + "\"amount\":300000,"
+                + "\"term\":24,"
+                + "\"firstName\":\"John\","
+                + "\"lastName\":\"Smith\","
+                + "\"gender\":\"MALE\","
+                + "\"birthdate\":\"1985-06-17\","
+                + "\"passportSeries\":\"0374\","
+                + "\"passportNumber\":\"492684\","
+                + "\"passportIssueDate\":\"2020-06-17\","
+                + "\"passportIssueBranch\":\"UFMS\","
+                + "\"maritalStatus\":\"MARRIED\","
+                + "\"dependentAmount\":0,"
+                + "\"employment\":{"
+                + "\"employmentStatus\":\"SELF_EMPLOYED\","
+                + "\"employerINN\":\"string\","
+                + "\"salary\":300000,"
+                + "\"position\":\"WORKER\","
+                + "\"getWorkExperienceCurrent\":20,"
+                + "\"workExperienceTotal\":20"
+                + "},"
+                + "\"accountNumber\":\"466466\","
+                + "\"isInsuranceEnabled\":false,"
+                + "\"isSalaryClient\":false"
+                + "}";
+
+        String json = mockMvc.perform(post("http://localhost:8080/calculator/calc")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+
+        MvcResult streamResult = mockMvc.perform(post("http://localhost:8080/calculator/calc")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content(requestBody))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String ndjson = mockMvc.perform(asyncDispatch(streamResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        JsonNode credit = objectMapper.readTree(json);
+        String[] lines = ndjson.split("\n");
+        assertEquals(25, lines.length);
+        JsonNode header = objectMapper.readTree(lines[0]);
+        assertEquals(credit.get("monthlyPayment"), header.get("monthlyPayment"));
+        assertEquals(credit.get("psk"), header.get("psk"));
+        assertTrue(header.get("paymentSchedule").isNull());
+        for (int i = 1; i < lines.length; i++) {
+            assertEquals(credit.get("paymentSchedule").get(i - 1), objectMapper.readTree(lines[i]));
+        }
+    }
+
+    @Test
+    void calculateCreditStreamRejectedTest() throws Exception {
+        String requestBody = "{"
+                + "\"amount\":300000,"
+                + "\"term\":24,"
+                + "\"firstName\":\"John\","
+                + "\"lastName\":\"Smith\","
+                + "\"gender\":\"MALE\","
+                + "\"birthdate\":\"2010-06-17\","
+                + "\"passportSeries\":\"0374\","
+                + "\"passportNumber\":\"492684\","
+                + "\"maritalStatus\":\"MARRIED\","
+                + "\"isInsuranceEnabled\":false,"
+                + "\"isSalaryClient\":false"
+                + "}";
+
+        // the rejection is decided before the stream starts and answered like for the JSON response
+        mockMvc.perform(post("http://localhost:8080/calculator/calc")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .content(requestBody))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.rejectionReason").value("Возраст вне допустимых границ"));
+
+        mockMvc.perform(post("http://localhost:8080/calculator/calc")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.rejectionReason").value("Возраст вне допустимых границ"));
+    }
+
+    @Test
+    void calculateCreditTraceTest() throws Exception {
+        String traceId = "4bf92f3577b34da6a3ce929d0e0e4736";
+        String requestBody = "{"
+                + "\"amount\":310000,"
+                + "\"term\":24,"
+                + "\"firstName\":\"John\","
+                + "\"lastName\":\"Smith\","
+                + "\"gender\":\"MALE\","
+                + "\"birthdate\":\"1985-06-17\","
+                + "\"passportSeries\":\"0374\","
+                + "\"passportNumber\":\"492684\","
+                + "\"passportIssueDate\":\"2020-06-17\","
+                + "\"passportIssueBranch\":\"UFMS\","
+                + "\"maritalStatus\":\"MARRIED\","
+                + "\"dependentAmount\":0,"
+                + "\"employment\":{"
+                + "\"employmentStatus\":\"SELF_EMPLOYED\","
+                + "\"employerINN\":\"string\","
+                + "\"salary\":300000,"
+                + "\"position\":\"WORKER\","
+                + "\"getWorkExperienceCurrent\":20,"
+                + "\"workExperienceTotal\":20"
+                + "},"
+                + "\"accountNumber\":\"466466\","
+                + "\"isInsuranceEnabled\":false,"
+                + "\"isSalaryClient\":false"
+                + "}";
+
+        mockMvc.perform(post("http://localhost:8080/calculator/calc")
+                        .header("traceparent", "00-" + traceId + "-00f067aa0ba902b7-01")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk());
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+
+        // the server span continues the caller's span, scoring and schedule run inside it
+        Map<String, SpanData> spans = spanExporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getTraceId().equals(traceId))
+                .collect(Collectors.toMap(SpanData::getName, Function.identity(), (first, second) -> first));
+        SpanData server = spans.values().stream()
+                .filter(span -> span.getParentSpanId().equals("00f067aa0ba902b7"))
+                .findFirst().orElseThrow();
+        for (String name : List.of("calculator.scoring", "calculator.schedule")) {
+            assertEquals(server.getSpanId(), spans.get(name).getParentSpanId(), name);
+        }
+    }
+
+    @TestConfiguration
+    static class SpanExporterConfig {
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package calculatorApp.calculator.engine;
+
+import calculatorApp.calculator.model.dto.PaymentScheduleElementDto;
+import calculatorApp.calculator.util.CreditScoring;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FixedPointCalculationEngineTest {
+    /**
+     * Long schedules are slow on the reference engine; run with {@code -Dconformance.corpus=20000} for a deeper check.
+     */
+    private static final int CORPUS_SIZE = Integer.getInteger("conformance.corpus", 1000);
+    private static final LocalDate CALCULATION_DATE = LocalDate.of(2024, 1, 31);
+
+    private final BigDecimalCalculationEngine reference = new BigDecimalCalculationEngine();
+    private final FixedPointCalculationEngine fixedPoint = new FixedPointCalculationEngine();
+
+    @Test
+    void randomizedCorpus_ShouldMatchBigDecimalEngineToTheKopeck() {
+        Random random = new Random(20240615L);
+        List<Object[]> corpus = new ArrayList<>();
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            long kopecks = 20_000_00L + (long) (random.nextDouble() * 9_980_000_00L);
+            BigDecimal amount = random.nextBoolean() ? BigDecimal.valueOf(kopecks / 100) : BigDecimal.valueOf(kopecks, 2);
+            int term = 6 + random.nextInt(355);
+            BigDecimal rate = BigDecimal.valueOf(5 + random.nextInt(31));
+            corpus.add(new Object[]{amount, term, rate});
+        }
+
+        corpus.parallelStream().forEach(loan -> assertSameCalculation((BigDecimal) loan[0], (int) loan[1], (BigDecimal) loan[2]));
+    }
+
+    @Test
+    void exactHalfKopeckInterest_ShouldStillMatchBigDecimalEngine() {
+        // at 19% the first interest part is half a kopeck before the DECIMAL128 monthly rate is applied
+        assertSameCalculation(BigDecimal.valueOf(300_600), 12, BigDecimal.valueOf(19));
+        assertSameCalculation(BigDecimal.valueOf(600), 6, BigDecimal.valueOf(19));
+        // at 18% the monthly rate is exact and so is the half kopeck
+        assertSameCalculation(BigDecimal.valueOf(2_550), 24, BigDecimal.valueOf(18));
+    }
+
+    @Test
+    void unrepresentableInput_ShouldFallBackToBigDecimalEngine() {
+        BigDecimal psk = new BigDecimal("100000.1234567890123456789012345678901234567890");
+        long fallbacksBefore = fixedPoint.getFallbackCount();
+
+        BigDecimal payment = fixedPoint.calculateMonthlyPayment(psk, 12, BigDecimal.valueOf(20));
+
+        assertEquals(reference.calculateMonthlyPayment(psk, 12, BigDecimal.valueOf(20)), payment);
+        assertEquals(fallbacksBefore + 1, fixedPoint.getFallbackCount());
+    }
+
+    private void assertSameCalculation(BigDecimal amount, int term, BigDecimal rate) {
+        BigDecimal psk = CreditScoring.calculateTotalCost(amount, rate);
+        String context = "amount=" + amount + " term=" + term + " rate=" + rate;
+
+        BigDecimal expectedPayment = reference.calculateMonthlyPayment(psk, term, rate);
+        BigDecimal actualPayment = fixedPoint.calculateMonthlyPayment(psk, term, rate);
+        assertEquals(expectedPayment.setScale(2, RoundingMode.HALF_UP), actualPayment.setScale(2, RoundingMode.HALF_UP), context);
+
+        List<PaymentScheduleElementDto> expected = reference.generatePaymentSchedule(psk, term, rate, expectedPayment, CALCULATION_DATE);
+        List<PaymentScheduleElementDto> actual = fixedPoint.generatePaymentSchedule(psk, term, rate, actualPayment, CALCULATION_DATE);
+        assertEquals(expected.size(), actual.size(), context);
+        for (int month = 0; month < expected.size(); month++) {
+            PaymentScheduleElementDto expectedRow = expected.get(month);
+            PaymentScheduleElementDto actualRow = actual.get(month);
+            String row = context + " month=" + (month + 1);
+            assertEquals(expectedRow.getNumber(), actualRow.getNumber(), row);
+            assertEquals(expectedRow.getDate(), actualRow.getDate(), row);
+            assertEquals(expectedRow.getTotalPayment(), actualRow.getTotalPayment(), row);
+            assertEquals(expectedRow.getInterestPayment(), actualRow.getInterestPayment(), row);
+            assertEquals(expectedRow.getDebtPayment(), actualRow.getDebtPayment(), row);
+            assertEquals(expectedRow.getRemainingDebt(), actualRow.getRemainingDebt(), row);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package calculatorApp.calculator.scoring;
+
+import calculatorApp.calculator.model.dto.EmploymentDto;
+import calculatorApp.calculator.model.dto.ScoringDataDto;
+import calculatorApp.calculator.model.dto.ScoringResultDto;
+import calculatorApp.calculator.model.enumerated.EmploymentStatusEnum;
+import calculatorApp.calculator.model.enumerated.Gender;
+import calculatorApp.calculator.model.enumerated.MaritalStatus;
+import calculatorApp.calculator.model.enumerated.Position;
+import calculatorApp.calculator.util.CreditScoring;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * {@code CreditScoring.performScoring} before the rules were moved to {@code scoring-rules.json}: the reference
+ * {@link ScoringRulesTest} checks the default rule set against, and the baseline of {@code ScoringBenchmark},
+ * which gets it from the calculator test-jar.
+ */
+public final class HardCodedScoring {
+
+    private HardCodedScoring() {
+    }
+
+    public static ScoringResultDto performScoring(ScoringDataDto data, LocalDate calculationDate) {
+        ScoringResultDto result = new ScoringResultDto();
+        result.setApproved(true);
+
+        BigDecimal rate = new BigDecimal("20");
+        int age = CreditScoring.calculateAge(data.getBirthdate(), calculationDate);
+
+        if (age < 20 || age > 65) {
+            result.setApproved(false);
+            result.setRejectionReason("Возраст вне допустимых границ");
+            return result;
+        }
+
+        if (data.getMaritalStatus() == MaritalStatus.MARRIED) {
+            rate = rate.subtract(new BigDecimal("3"));
+        } else if (data.getMaritalStatus() == MaritalStatus.DIVORCED) {
+            rate = rate.add(new BigDecimal("1"));
+        }
+
+        Gender gender = data.getGender();
+        if (gender == Gender.FEMALE && age >= 32 && age <= 60) {
+            rate = rate.subtract(new BigDecimal("3"));
+        } else if (gender == Gender.MALE && age >= 30 && age <= 55) {
+            rate = rate.subtract(new BigDecimal("3"));
+        } else if (gender == Gender.NOT_BINARY) {
+            rate = rate.add(new BigDecimal("7"));
+        }
+
+        EmploymentDto employment = data.getEmployment();
+        if (employment != null) {
+            int totalExperienceMonths = employment.getWorkExperienceTotal() != null ? employment.getWorkExperienceTotal() : 0;
+            int currentExperienceMonths = employment.getGetWorkExperienceCurrent() != null ? employment.getGetWorkExperienceCurrent() : 0;
+
+            if (totalExperienceMonths < 18 || currentExperienceMonths < 3) {
+                result.setApproved(false);
+                result.setRejectionReason("Недостаточный стаж работы");
+                return result;
+            }
+
+            BigDecimal salary = employment.getSalary() != null ? employment.getSalary() : BigDecimal.ZERO;
+            if (salary.compareTo(BigDecimal.ZERO) > 0 && data.getAmount().compareTo(salary.multiply(BigDecimal.valueOf(24))) > 0) {
+                result.setApproved(false);
+                result.setRejectionReason("Сумма займа превышает 24 зарплаты");
+                return result;
+            }
+
+            EmploymentStatusEnum status = employment.getEmploymentStatus();
+            if (status == EmploymentStatusEnum.UNEMPLOYED) {
+                result.setApproved(false);
+                result.setRejectionReason("Статус безработный");
+                return result;
+            } else if (status == EmploymentStatusEnum.SELF_EMPLOYED) {
+                rate = rate.add(new BigDecimal("2"));
+            } else if (status == EmploymentStatusEnum.BUSINESS_OWNER) {
+                rate = rate.add(new BigDecimal("1"));
+            }
+
+            Position position = employment.getPosition();
+            if (position == Position.MIDDLE_MANAGER) {
+                rate = rate.subtract(new BigDecimal("2"));
+            } else if (position == Position.TOP_MANAGER) {
+                rate = rate.subtract(new BigDecimal("3"));
+            }
+        }
+
+        result.setRate(rate.max(BigDecimal.ZERO));
+        return result;
+    }
+}
@@ -0,0 +1,116 @@
+package calculatorApp.calculator.scoring;
+
+import calculatorApp.calculator.config.ScoringRulesProperties;
+import calculatorApp.calculator.model.dto.EmploymentDto;
+import calculatorApp.calculator.model.dto.ScoringDataDto;
+import calculatorApp.calculator.model.enumerated.EmploymentStatusEnum;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RejectPipelineTest {
+    private static final ScoringRules RULES = ScoringRulesRegistry.loadDefault();
+
+    @Test
+    void evaluate_ShouldStopAtFirstRejectingStage() {
+        RejectPipeline pipeline = new RejectPipeline(new ScoringRulesProperties());
+
+        assertEquals("Возраст вне допустимых границ",
+                pipeline.evaluate(RULES, unemployed(6), 18).getRejectionReason());
+        assertEquals("Недостаточный стаж работы",
+                pipeline.evaluate(RULES, unemployed(6), 30).getRejectionReason());
+
+        RejectStageCounters counters = pipeline.getCounters();
+        assertEquals(2, counters.getEvaluated(RejectStage.AGE));
+        assertEquals(1, counters.getRejected(RejectStage.AGE));
+        assertEquals(1, counters.getEvaluated(RejectStage.EXPERIENCE));
+        assertEquals(1, counters.getRejected(RejectStage.EXPERIENCE));
+        assertEquals(0, counters.getEvaluated(RejectStage.EMPLOYMENT_STATUS));
+    }
+
+    @Test
+    void bindTo_ShouldPublishStageCounters() {
+        RejectPipeline pipeline = new RejectPipeline(new ScoringRulesProperties());
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        pipeline.bindTo(registry);
+
+        pipeline.evaluate(RULES, unemployed(6), 30);
+
+        assertEquals(1, registry.get("calculator.scoring.stage.evaluated").tag("stage", "EXPERIENCE").functionCounter().count());
+        assertEquals(1, registry.get("calculator.scoring.stage.rejected").tag("stage", "EXPERIENCE").functionCounter().count());
+        assertEquals(0, registry.get("calculator.scoring.stage.rejected").tag("stage", "AGE").functionCounter().count());
+    }
+
+    @Test
+    void evaluate_ConfiguredOrder_ShouldDecideRejectionReason() {
+        ScoringRulesProperties properties = new ScoringRulesProperties();
+        properties.setRejectOrder(List.of(RejectStage.EMPLOYMENT_STATUS, RejectStage.AGE, RejectStage.SALARY, RejectStage.EXPERIENCE));
+        RejectPipeline pipeline = new RejectPipeline(properties);
+
+        assertEquals("Статус безработный", pipeline.evaluate(RULES, unemployed(6), 18).getRejectionReason());
+        assertEquals(0, pipeline.getCounters().getEvaluated(RejectStage.AGE));
+    }
+
+    @Test
+    void createPipeline_IncompleteOrder_ShouldThrow() {
+        ScoringRulesProperties properties = new ScoringRulesProperties();
+        properties.setRejectOrder(List.of(RejectStage.AGE, RejectStage.AGE, RejectStage.SALARY, RejectStage.EXPERIENCE));
+
+        assertThrows(IllegalArgumentException.class, () -> new RejectPipeline(properties));
+    }
+
+    @Test
+    void reorder_ShouldRunCheapestStagePerRejectionFirst() {
+        ScoringRulesProperties properties = new ScoringRulesProperties();
+        properties.setAdaptiveOrder(true);
+        properties.setReorderMinSamples(10);
+        RejectPipeline pipeline = new RejectPipeline(properties);
+
+        assertFalse(pipeline.reorder());
+        // half of the applicants are unemployed with enough experience, every tenth is too young
+        for (int i = 0; i < 100; i++) {
+            ScoringDataDto data = i % 2 == 0 ? unemployed(36) : employed();
+            assertNotNull(pipeline.evaluate(RULES, data, i % 10 == 0 ? 18 : 30));
+        }
+
+        assertTrue(pipeline.reorder());
+        assertEquals(List.of(RejectStage.EMPLOYMENT_STATUS, RejectStage.AGE, RejectStage.EXPERIENCE, RejectStage.SALARY),
+                pipeline.getOrder());
+        assertFalse(pipeline.reorder());
+    }
+
+    @Test
+    void reorder_NotAdaptive_ShouldKeepOrder() {
+        RejectPipeline pipeline = new RejectPipeline(new ScoringRulesProperties());
+        for (int i = 0; i < 2000; i++) {
+            pipeline.evaluate(RULES, unemployed(36), 30);
+        }
+
+        assertFalse(pipeline.reorder());
+        assertEquals(RejectStage.DEFAULT_ORDER, pipeline.getOrder());
+    }
+
+    private static ScoringDataDto unemployed(int experienceMonths) {
+        return application(EmploymentStatusEnum.UNEMPLOYED, experienceMonths);
+    }
+
+    private static ScoringDataDto employed() {
+        return application(EmploymentStatusEnum.SELF_EMPLOYED, 36);
+    }
+
+    private static ScoringDataDto application(EmploymentStatusEnum status, int experienceMonths) {
+        EmploymentDto employment = new EmploymentDto();
+        employment.setEmploymentStatus(status);
+        employment.setWorkExperienceTotal(experienceMonths);
+        employment.setGetWorkExperienceCurrent(experienceMonths);
+        employment.setSalary(BigDecimal.valueOf(100_000));
+        return ScoringDataDto.builder()
+                .amount(BigDecimal.valueOf(200_000))
+                .employment(employment)
+                .build();
+    }
+}
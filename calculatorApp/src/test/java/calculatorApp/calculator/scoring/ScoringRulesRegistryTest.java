@@ -0,0 +1,74 @@
+package calculatorApp.calculator.scoring;
+
+import calculatorApp.calculator.config.ScoringRulesProperties;
+import calculatorApp.calculator.model.dto.ScoringDataDto;
+import calculatorApp.calculator.model.enumerated.MaritalStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScoringRulesRegistryTest {
+    private static final ScoringDataDto MARRIED = ScoringDataDto.builder().maritalStatus(MaritalStatus.MARRIED).build();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reload_ChangedRules_ShouldSwapCompiledRules() throws IOException {
+        Path file = directory.resolve("scoring-rules.json");
+        Files.writeString(file, rules(-3));
+        ScoringRulesRegistry registry = createRegistry(file);
+        ScoringRules initial = registry.getRules();
+
+        assertFalse(registry.reload());
+        assertSame(initial, registry.getRules());
+
+        Files.writeString(file, rules(-4));
+        assertTrue(registry.reload());
+        assertEquals(new BigDecimal("16"), registry.getRules().evaluate(MARRIED, 30).getRate());
+        assertEquals(new BigDecimal("17"), initial.evaluate(MARRIED, 30).getRate());
+    }
+
+    @Test
+    void reload_BrokenRules_ShouldKeepCurrentRules() throws IOException {
+        Path file = directory.resolve("scoring-rules.json");
+        Files.writeString(file, rules(-3));
+        ScoringRulesRegistry registry = createRegistry(file);
+        ScoringRules initial = registry.getRules();
+
+        Files.writeString(file, rules(-3).replace("\"MARRIED\"", "\"WIDOWED\""));
+        assertFalse(registry.reload());
+        Files.writeString(file, "{\"baseRate\": 20}");
+        assertFalse(registry.reload());
+
+        assertSame(initial, registry.getRules());
+    }
+
+    @Test
+    void createRegistry_BrokenRules_ShouldFail() throws IOException {
+        Path file = directory.resolve("scoring-rules.json");
+        Files.writeString(file, "{\"baseRate\": 20}");
+
+        assertThrows(RuntimeException.class, () -> createRegistry(file));
+    }
+
+    private static ScoringRulesRegistry createRegistry(Path file) {
+        ScoringRulesProperties properties = new ScoringRulesProperties();
+        properties.setRulesLocation(file.toUri().toString());
+        return new ScoringRulesRegistry(properties, new DefaultResourceLoader());
+    }
+
+    private static String rules(int marriedDelta) {
+        return """
+                {"baseRate": 20,
+                 "age": {"min": 20, "max": 65, "rejectionReason": "age"},
+                 "maritalStatus": {"MARRIED": %d}}""".formatted(marriedDelta);
+    }
+}
@@ -0,0 +1,146 @@
+package calculatorApp.calculator.scoring;
+
+import calculatorApp.calculator.config.ScoringRulesProperties;
+import calculatorApp.calculator.model.dto.EmploymentDto;
+import calculatorApp.calculator.model.dto.ScoringDataDto;
+import calculatorApp.calculator.model.dto.ScoringResultDto;
+import calculatorApp.calculator.model.enumerated.EmploymentStatusEnum;
+import calculatorApp.calculator.model.enumerated.Gender;
+import calculatorApp.calculator.model.enumerated.MaritalStatus;
+import calculatorApp.calculator.model.enumerated.Position;
+import calculatorApp.calculator.util.CreditScoring;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ScoringRulesTest {
+    private static final LocalDate CALCULATION_DATE = LocalDate.of(2024, 1, 31);
+
+    @Test
+    void evaluate_DefaultRules_ShouldMatchHardCodedScoring() {
+        ScoringRules rules = ScoringRulesRegistry.loadDefault();
+        RejectPipeline pipeline = new RejectPipeline(new ScoringRulesProperties());
+        int cases = 0;
+        for (MaritalStatus maritalStatus : withNull(MaritalStatus.values())) {
+            for (Gender gender : withNull(Gender.values())) {
+                for (int age = 18; age <= 67; age++) {
+                    for (EmploymentDto employment : employments()) {
+                        ScoringDataDto data = ScoringDataDto.builder()
+                                .amount(BigDecimal.valueOf(2_000_000))
+                                .maritalStatus(maritalStatus)
+                                .gender(gender)
+                                .birthdate(CALCULATION_DATE.minusYears(age))
+                                .employment(employment)
+                                .build();
+
+                        assertEquals(HardCodedScoring.performScoring(data, CALCULATION_DATE),
+                                CreditScoring.performScoring(data, CALCULATION_DATE, rules, pipeline), data.toString());
+                        cases++;
+                    }
+                }
+            }
+        }
+        assertEquals(4 * 4 * 50 * employments().size(), cases);
+    }
+
+    @Test
+    void evaluate_FractionalDeltas_ShouldUseFinestScale() {
+        ScoringRules rules = ScoringRules.compile(new ScoringRuleSet(
+                new BigDecimal("20"),
+                new ScoringRuleSet.AgeRule(20, 65, "age"),
+                Map.of(MaritalStatus.MARRIED, new BigDecimal("-2.75")),
+                List.of(),
+                null));
+
+        ScoringDataDto married = ScoringDataDto.builder().maritalStatus(MaritalStatus.MARRIED).build();
+        ScoringDataDto single = ScoringDataDto.builder().maritalStatus(MaritalStatus.SINGLE).build();
+
+        assertEquals(new BigDecimal("17.25"), rules.evaluate(married, 30).getRate());
+        assertEquals(new BigDecimal("20.00"), rules.evaluate(single, 30).getRate());
+    }
+
+    @Test
+    void compile_InvalidRuleSet_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> ScoringRules.compile(new ScoringRuleSet(
+                new BigDecimal("20"), null, Map.of(), List.of(), null)));
+        assertThrows(IllegalArgumentException.class, () -> ScoringRules.compile(new ScoringRuleSet(
+                new BigDecimal("20"), new ScoringRuleSet.AgeRule(65, 20, "age"), Map.of(), List.of(), null)));
+    }
+
+    @Test
+    void compile_MissingRejectionReason_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> ScoringRules.compile(new ScoringRuleSet(
+                new BigDecimal("20"), new ScoringRuleSet.AgeRule(20, 65, null), Map.of(), List.of(), null)));
+        assertThrows(IllegalArgumentException.class, () -> ScoringRules.compile(new ScoringRuleSet(
+                new BigDecimal("20"), new ScoringRuleSet.AgeRule(20, 65, "age"), Map.of(), List.of(),
+                new ScoringRuleSet.EmploymentRules(18, 3, null, null, null, null, null, null))));
+        assertThrows(IllegalArgumentException.class, () -> ScoringRules.compile(new ScoringRuleSet(
+                new BigDecimal("20"), new ScoringRuleSet.AgeRule(20, 65, "age"), Map.of(), List.of(),
+                new ScoringRuleSet.EmploymentRules(18, 3, "experience", new BigDecimal("24"), null, null, null, null))));
+        Map<EmploymentStatusEnum, String> rejectedStatuses = new HashMap<>();
+        rejectedStatuses.put(EmploymentStatusEnum.UNEMPLOYED, null);
+        assertThrows(IllegalArgumentException.class, () -> ScoringRules.compile(new ScoringRuleSet(
+                new BigDecimal("20"), new ScoringRuleSet.AgeRule(20, 65, "age"), Map.of(), List.of(),
+                new ScoringRuleSet.EmploymentRules(18, 3, "experience", null, null, rejectedStatuses, null, null))));
+    }
+
+    @Test
+    void evaluate_FailedStage_ShouldRejectWithItsReason() {
+        ScoringRules rules = ScoringRules.compile(new ScoringRuleSet(
+                new BigDecimal("20"),
+                new ScoringRuleSet.AgeRule(20, 65, "age"),
+                Map.of(),
+                List.of(),
+                new ScoringRuleSet.EmploymentRules(18, 3, "experience", null, null, null, null, null)));
+        ScoringDataDto data = ScoringDataDto.builder()
+                .amount(BigDecimal.valueOf(100_000))
+                .employment(employment(EmploymentStatusEnum.SELF_EMPLOYED, Position.WORKER, 12, 12, BigDecimal.valueOf(100_000)))
+                .build();
+
+        assertEquals(new ScoringResultDto(null, false, "age"), rules.evaluate(data, 18));
+        assertEquals(new ScoringResultDto(null, false, "experience"), rules.evaluate(data, 30));
+    }
+
+    private static <T> List<T> withNull(T[] values) {
+        List<T> result = new ArrayList<>(Arrays.asList(values));
+        result.add(null);
+        return result;
+    }
+
+    private static List<EmploymentDto> employments() {
+        List<EmploymentDto> employments = new ArrayList<>();
+        employments.add(null);
+        for (EmploymentStatusEnum status : withNull(EmploymentStatusEnum.values())) {
+            for (Position position : withNull(Position.values())) {
+                employments.add(employment(status, position, 36, 12, BigDecimal.valueOf(100_000)));
+            }
+        }
+        employments.add(employment(EmploymentStatusEnum.SELF_EMPLOYED, Position.WORKER, 17, 12, BigDecimal.valueOf(100_000)));
+        employments.add(employment(EmploymentStatusEnum.SELF_EMPLOYED, Position.WORKER, 36, 2, BigDecimal.valueOf(100_000)));
+        employments.add(employment(EmploymentStatusEnum.SELF_EMPLOYED, Position.WORKER, null, 12, BigDecimal.valueOf(100_000)));
+        employments.add(employment(EmploymentStatusEnum.UNEMPLOYED, Position.WORKER, 36, 12, BigDecimal.valueOf(50_000)));
+        employments.add(employment(EmploymentStatusEnum.BUSINESS_OWNER, Position.OWNER, 36, 12, null));
+        employments.add(employment(EmploymentStatusEnum.BUSINESS_OWNER, Position.OWNER, 36, 12, BigDecimal.ZERO));
+        return employments;
+    }
+
+    private static EmploymentDto employment(EmploymentStatusEnum status, Position position,
+                                            Integer totalExperience, Integer currentExperience, BigDecimal salary) {
+        EmploymentDto employment = new EmploymentDto();
+        employment.setEmploymentStatus(status);
+        employment.setPosition(position);
+        employment.setWorkExperienceTotal(totalExperience);
+        employment.setGetWorkExperienceCurrent(currentExperience);
+        employment.setSalary(salary);
+        return employment;
+    }
+}
@@ -0,0 +1,97 @@
+package calculatorApp.calculator.service;
+
+import calculatorApp.calculator.config.BatchProperties;
+import calculatorApp.calculator.config.OfferGridProperties;
+import calculatorApp.calculator.exception.BatchRequestException;
+import calculatorApp.calculator.model.dto.BatchOfferResultDto;
+import calculatorApp.calculator.model.dto.LoanStatementRequestDto;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchPreScoringServiceImplTest {
+    private ExecutorService executor;
+    private BatchProperties properties;
+    private BatchPreScoringServiceImpl batchPreScoringService;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(3);
+        properties = new BatchProperties();
+        properties.setChunkSize(7);
+        properties.setMaxSize(500);
+        batchPreScoringService = new BatchPreScoringServiceImpl(new PreScoringServiceImpl(new OfferGrid(new OfferGridProperties())),
+                Validation.buildDefaultValidatorFactory().getValidator(), executor, properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private LoanStatementRequestDto createRequestDto(long amount) {
+        return LoanStatementRequestDto.builder()
+                .amount(BigDecimal.valueOf(amount))
+                .term(12)
+                .firstName("Ivan")
+                .lastName("Ivanov")
+                .passportSeries("4444")
+                .passportNumber("123456")
+                .build();
+    }
+
+    @Test
+    void calculatePreOffers_ShouldKeepOrderAndMatchSingleCalculation() {
+        PreScoringServiceImpl preScoringService = new PreScoringServiceImpl(new OfferGrid(new OfferGridProperties()));
+        List<LoanStatementRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            requests.add(createRequestDto(20_000 + i * 1_000L));
+        }
+
+        List<BatchOfferResultDto> results = batchPreScoringService.calculatePreOffers(requests);
+
+        assertEquals(requests.size(), results.size());
+        for (int i = 0; i < results.size(); i++) {
+            BatchOfferResultDto result = results.get(i);
+            assertEquals(i, result.getIndex());
+            assertNull(result.getErrors());
+            List<BigDecimal> expected = preScoringService.calculatePreOffer(createRequestDto(20_000 + i * 1_000L)).stream()
+                    .map(offer -> offer.getMonthlyPayment()).toList();
+            assertEquals(expected, result.getOffers().stream().map(offer -> offer.getMonthlyPayment()).toList());
+        }
+    }
+
+    @Test
+    void calculatePreOffers_ShouldReportInvalidItemsWithoutFailingBatch() {
+        LoanStatementRequestDto invalid = createRequestDto(1_000);
+        invalid.setPassportSeries("12");
+
+        List<BatchOfferResultDto> results = batchPreScoringService.calculatePreOffers(
+                Arrays.asList(createRequestDto(100_000), invalid, null));
+
+        assertEquals(4, results.get(0).getOffers().size());
+        assertNull(results.get(1).getOffers());
+        assertEquals(2, results.get(1).getErrors().size());
+        assertTrue(results.get(1).getErrors().stream().anyMatch(error -> error.field().equals("amount")));
+        assertTrue(results.get(1).getErrors().stream().anyMatch(error -> error.field().equals("passportSeries")));
+        assertEquals("NotNull", results.get(2).getErrors().get(0).code());
+    }
+
+    @Test
+    void calculatePreOffers_ShouldRejectTooLargeBatch() {
+        List<LoanStatementRequestDto> requests = Collections.nCopies(501, createRequestDto(100_000));
+
+        assertThrows(BatchRequestException.class, () -> batchPreScoringService.calculatePreOffers(requests));
+    }
+}
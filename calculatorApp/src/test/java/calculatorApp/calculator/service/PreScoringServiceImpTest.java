@@ -1,5 +1,6 @@
 package calculatorApp.calculator.service;
 
+import calculatorApp.calculator.config.OfferGridProperties;
 import calculatorApp.calculator.model.dto.LoanOfferDto;
 import calculatorApp.calculator.model.dto.LoanStatementRequestDto;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,6 +13,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.hibernate.validator.internal.util.Contracts.assertNotNull;
 import static org.junit.jupiter.api.Assertions.*;
@@ -21,10 +25,13 @@ public class PreScoringServiceImpTest {
     @InjectMocks
     private PreScoringServiceImpl preScoringService;
 
+    private OfferGrid offerGrid;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        preScoringService = new PreScoringServiceImpl();
+        offerGrid = new OfferGrid(new OfferGridProperties());
+        preScoringService = new PreScoringServiceImpl(offerGrid);
     }
     private LoanStatementRequestDto createRequestDto(){
         LoanStatementRequestDto requestDto = new LoanStatementRequestDto();
@@ -90,4 +97,47 @@ public class PreScoringServiceImpTest {
         }
     }
 
+    @Test
+    void calculatePreOffer_OfferGrid_ShouldMatchCalculationWithFreshStatementIds() {
+        OfferGridProperties disabled = new OfferGridProperties();
+        disabled.setEnabled(false);
+        List<LoanOfferDto> calculated = new PreScoringServiceImpl(new OfferGrid(disabled)).calculatePreOffer(createRequestDto());
+
+        List<LoanOfferDto> first = preScoringService.calculatePreOffer(createRequestDto());
+        List<LoanOfferDto> second = preScoringService.calculatePreOffer(createRequestDto());
+
+        for (int i = 0; i < calculated.size(); i++) {
+            calculated.get(i).setStatementId(null);
+            LoanOfferDto offer = new LoanOfferDto(null, second.get(i).getRequestedAmount(), second.get(i).getTotalAmount(),
+                    second.get(i).getTerm(), second.get(i).getMonthlyPayment(), second.get(i).getRate(),
+                    second.get(i).getIsInsuranceEnabled(), second.get(i).getIsSalaryClient());
+            assertEquals(calculated.get(i), offer);
+        }
+        Set<UUID> statementIds = first.stream().map(LoanOfferDto::getStatementId).collect(Collectors.toSet());
+        second.forEach(offer -> statementIds.add(offer.getStatementId()));
+        assertEquals(8, statementIds.size());
+        assertEquals(1, offerGrid.getStats().hitCount());
+    }
+
+    @Test
+    void warmUpOfferGrid_ShouldServeConfiguredCombinationsFromMemory() {
+        preScoringService.warmUpOfferGrid();
+
+        preScoringService.calculatePreOffer(createRequestDto());
+
+        assertEquals(0, offerGrid.getStats().missCount());
+        assertEquals(1, offerGrid.getStats().hitCount());
+    }
+
+    @Test
+    void calculatePreOffer_ShouldReturnVariantsInRateOrder() {
+        List<LoanOfferDto> offers = preScoringService.calculatePreOffer(createRequestDto());
+
+        assertEquals(List.of(true, false, true, false), offers.stream().map(LoanOfferDto::getIsInsuranceEnabled).toList());
+        assertEquals(List.of(true, true, false, false), offers.stream().map(LoanOfferDto::getIsSalaryClient).toList());
+        assertEquals(List.of(new BigDecimal("18"), new BigDecimal("19"), new BigDecimal("19"), new BigDecimal("20")),
+                offers.stream().map(LoanOfferDto::getRate).toList());
+        assertEquals(new BigDecimal("150000"), offers.get(0).getRequestedAmount());
+        assertEquals(new BigDecimal("100000"), offers.get(1).getRequestedAmount());
+    }
 }
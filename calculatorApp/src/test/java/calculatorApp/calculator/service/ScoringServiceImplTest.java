@@ -1,35 +1,67 @@
 package calculatorApp.calculator.service;
 
+import calculatorApp.calculator.config.ScoringCacheProperties;
+import calculatorApp.calculator.config.ScoringRulesProperties;
+import calculatorApp.calculator.engine.BigDecimalCalculationEngine;
 import calculatorApp.calculator.model.dto.CreditDto;
 import calculatorApp.calculator.model.dto.EmploymentDto;
 import calculatorApp.calculator.model.dto.PaymentScheduleElementDto;
+import calculatorApp.calculator.model.dto.RejectStageStatsDto;
 import calculatorApp.calculator.model.dto.ScoringDataDto;
 import calculatorApp.calculator.model.enumerated.EmploymentStatusEnum;
 import calculatorApp.calculator.model.enumerated.Gender;
 import calculatorApp.calculator.model.enumerated.MaritalStatus;
 import calculatorApp.calculator.model.enumerated.Position;
+import calculatorApp.calculator.scoring.RejectPipeline;
+import calculatorApp.calculator.scoring.RejectStage;
+import calculatorApp.calculator.scoring.ScoringRulesRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.DefaultResourceLoader;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 @ExtendWith(MockitoExtension.class)
 public class ScoringServiceImplTest {
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2024-01-31T23:59:59Z"), ZoneOffset.UTC);
 
     @InjectMocks
     private ScoringServiceImpl scoringService;
 
+    private ScoringDecisionCache decisionCache;
+
+    private SimpleMeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        decisionCache = new ScoringDecisionCache(new ScoringCacheProperties(), new ScoringMetrics(meterRegistry));
+        scoringService = createService(decisionCache);
+    }
+
+    private ScoringServiceImpl createService(ScoringDecisionCache decisionCache) {
+        return new ScoringServiceImpl(new BigDecimalCalculationEngine(), CLOCK,
+                new ScoringRulesRegistry(new ScoringRulesProperties(), new DefaultResourceLoader()),
+                new RejectPipeline(new ScoringRulesProperties()), decisionCache, new ScoringMetrics(meterRegistry),
+                ObservationRegistry.NOOP);
+    }
+
+    private static CreditDto approved(CreditDecision decision) {
+        return assertInstanceOf(CreditDecision.Approved.class, decision).credit();
     }
 
     private ScoringDataDto createValidData() {
@@ -67,7 +99,7 @@ public class ScoringServiceImplTest {
 
         ScoringDataDto data = createValidData();
 
-        CreditDto credit = scoringService.calculateCredit(data);
+        CreditDto credit = approved(scoringService.calculateCredit(data));
 
         assertNotNull(credit);
         assertEquals(data.getAmount(), credit.getAmount());
@@ -83,8 +115,129 @@ public class ScoringServiceImplTest {
         assertTrue(remainingDebt.compareTo(BigDecimal.ZERO) >= 0);
     }
 
-}
+    @Test
+    void testCalculateCredit_DatesFollowClock() {
+        ScoringDataDto data = createValidData();
 
+        List<PaymentScheduleElementDto> schedule = approved(scoringService.calculateCredit(data)).getPaymentSchedule();
 
+        assertEquals(LocalDate.of(2024, 2, 29), schedule.get(0).getDate());
+        assertEquals(LocalDate.of(2025, 1, 31), schedule.get(11).getDate());
+        assertEquals(schedule, approved(scoringService.calculateCredit(data)).getPaymentSchedule());
+    }
 
+    @Test
+    void testCalculateCredit_AgeOnCalculationDate() {
+        ScoringDataDto data = createValidData();
+        data.setBirthdate(LocalDate.of(2004, 1, 31));
+        assertNotNull(approved(scoringService.calculateCredit(data)));
 
+        data.setBirthdate(LocalDate.of(2004, 2, 1));
+        assertEquals(new CreditDecision.Rejected("Возраст вне допустимых границ"), scoringService.calculateCredit(data));
+    }
+
+    @Test
+    void testCalculateCredit_ShouldCountDecisionsByReasonAndScheduleLength() {
+        ScoringDataDto data = createValidData();
+        scoringService.calculateCredit(data);
+        data.getEmployment().setWorkExperienceTotal(6);
+        scoringService.calculateCredit(data);
+        data.getEmployment().setWorkExperienceTotal(7);
+        scoringService.calculateCredit(data);
+
+        scoringService.calculateCredit(data);
+
+        assertEquals(1, meterRegistry.get("calculator.scoring.decisions")
+                .tags("source", "scoring", "outcome", "approved").counter().count());
+        assertEquals(2, meterRegistry.get("calculator.scoring.decisions")
+                .tags("source", "scoring", "outcome", "rejected").counter().count());
+        assertEquals(1, meterRegistry.get("calculator.scoring.decisions")
+                .tags("source", "cache", "outcome", "rejected").counter().count());
+        assertEquals(0, meterRegistry.get("calculator.scoring.decisions")
+                .tags("source", "cache", "outcome", "approved").counter().count());
+        assertEquals(1, meterRegistry.get("calculator.schedule.length").summary().count());
+        assertEquals((double) data.getTerm(), meterRegistry.get("calculator.schedule.length").summary().max());
+    }
+
+    @Test
+    void testGetRejectStageStats_CountsRejectingStage() {
+        ScoringDataDto data = createValidData();
+        data.getEmployment().setWorkExperienceTotal(6);
+        assertInstanceOf(CreditDecision.Rejected.class, scoringService.calculateCredit(data));
+
+        List<RejectStageStatsDto> stats = scoringService.getRejectStageStats();
+
+        assertEquals(List.of(RejectStage.AGE, RejectStage.EXPERIENCE, RejectStage.SALARY, RejectStage.EMPLOYMENT_STATUS),
+                stats.stream().map(RejectStageStatsDto::getStage).toList());
+        assertEquals(new RejectStageStatsDto(RejectStage.AGE, 0, 1, 0), stats.get(0));
+        assertEquals(new RejectStageStatsDto(RejectStage.EXPERIENCE, 1, 1, 1), stats.get(1));
+        assertEquals(new RejectStageStatsDto(RejectStage.SALARY, 2, 0, 0), stats.get(2));
+    }
+
+    @Test
+    void testCalculateCredit_IdenticalApplication_ShouldHitCache() {
+        CreditDto credit = approved(scoringService.calculateCredit(createValidData()));
+
+        ScoringDataDto resubmitted = createValidData();
+        resubmitted.setFirstName("Other");
+        resubmitted.setBirthdate(LocalDate.of(1985, 1, 2));
+        resubmitted.getEmployment().setSalary(new BigDecimal("100000.00"));
+
+        CreditDto cached = approved(scoringService.calculateCredit(resubmitted));
+        assertNotSame(credit, cached);
+        assertEquals(credit, cached);
+        assertEquals(1, decisionCache.getStats().hitCount());
+        assertEquals(1, decisionCache.getStats().missCount());
+    }
+
+    @Test
+    void testCalculateCredit_ModifiedCachedCredit_ShouldNotLeakIntoNextHit() {
+        CreditDto credit = approved(scoringService.calculateCredit(createValidData()));
+        CreditDto expected = approved(scoringService.calculateCredit(createValidData()));
+
+        credit.setRate(BigDecimal.ONE);
+        credit.getPaymentSchedule().get(0).setTotalPayment(BigDecimal.ZERO);
+        credit.getPaymentSchedule().clear();
+
+        assertEquals(expected, approved(scoringService.calculateCredit(createValidData())));
+    }
+
+    @Test
+    void testCalculateCredit_ScoringFieldChanged_ShouldMissCache() {
+        CreditDto credit = approved(scoringService.calculateCredit(createValidData()));
+
+        ScoringDataDto rejected = createValidData();
+        rejected.getEmployment().setWorkExperienceTotal(6);
+        assertInstanceOf(CreditDecision.Rejected.class, scoringService.calculateCredit(rejected));
+
+        ScoringDataDto single = createValidData();
+        single.setMaritalStatus(MaritalStatus.SINGLE);
+        CreditDto singleCredit = approved(scoringService.calculateCredit(single));
+        assertNotEquals(credit.getRate(), singleCredit.getRate());
+        assertEquals(0, decisionCache.getStats().hitCount());
+    }
+
+    @Test
+    void testCalculateCredit_RejectedApplication_ShouldHitCache() {
+        ScoringDataDto rejected = createValidData();
+        rejected.getEmployment().setWorkExperienceTotal(6);
+
+        CreditDecision decision = scoringService.calculateCredit(rejected);
+
+        assertInstanceOf(CreditDecision.Rejected.class, decision);
+        assertSame(decision, scoringService.calculateCredit(rejected));
+        assertEquals(1, decisionCache.getStats().hitCount());
+    }
+
+    @Test
+    void testCalculateCredit_CacheDisabled_ShouldCalculateEveryTime() {
+        ScoringCacheProperties properties = new ScoringCacheProperties();
+        properties.setEnabled(false);
+        ScoringServiceImpl service = createService(new ScoringDecisionCache(properties, new ScoringMetrics(meterRegistry)));
+
+        CreditDto credit = approved(service.calculateCredit(createValidData()));
+
+        assertNotSame(credit, approved(service.calculateCredit(createValidData())));
+        assertEquals(credit, approved(service.calculateCredit(createValidData())));
+    }
+}
@@ -0,0 +1,76 @@
+package calculatorApp.calculator.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AnnuityFactorCacheTest {
+
+    @Test
+    void get_ShouldCalculateOncePerKeyAndCountHitsAndMisses() {
+        AnnuityFactorCache<String> cache = new AnnuityFactorCache<>(16);
+        AtomicInteger calculations = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            cache.get(BigDecimal.valueOf(19), 24, (rate, term) -> rate + "/" + term + "#" + calculations.incrementAndGet());
+        }
+        String other = cache.get(BigDecimal.valueOf(18), 24, (rate, term) -> rate + "/" + term + "#" + calculations.incrementAndGet());
+
+        assertEquals("18/24#2", other);
+        assertEquals(2, calculations.get());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void get_ShouldTreatRateScaleAsPartOfTheKey() {
+        AnnuityFactorCache<BigDecimal> cache = new AnnuityFactorCache<>(16);
+
+        BigDecimal first = cache.get(new BigDecimal("12"), 12, (rate, term) -> rate.movePointLeft(2));
+        BigDecimal second = cache.get(new BigDecimal("12.0"), 12, (rate, term) -> rate.movePointLeft(2));
+
+        assertEquals(new BigDecimal("0.12"), first);
+        assertEquals(new BigDecimal("0.120"), second);
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    void get_ShouldStopCachingWhenFull() {
+        AnnuityFactorCache<Integer> cache = new AnnuityFactorCache<>(2);
+
+        for (int term = 1; term <= 5; term++) {
+            assertEquals(term * 2, cache.get(BigDecimal.ONE, term, (rate, t) -> t * 2));
+        }
+        assertEquals(5, cache.get(BigDecimal.ONE, 5, (rate, t) -> 5));
+
+        assertEquals(2, cache.size());
+        assertEquals(6, cache.getMissCount());
+    }
+
+    @Test
+    void calculateMonthlyPayment_ShouldMatchUncachedFormula() {
+        for (int rate = 5; rate <= 30; rate++) {
+            for (int term = 6; term <= 360; term += 59) {
+                BigDecimal psk = BigDecimal.valueOf(1_234_567_89L + rate * term, 2);
+                BigDecimal annualRate = BigDecimal.valueOf(rate);
+
+                BigDecimal expected = uncachedMonthlyPayment(psk, term, annualRate);
+
+                assertEquals(expected, CreditScoring.calculateMonthlyPayment(psk, term, annualRate));
+                assertEquals(expected, CreditScoring.calculateMonthlyPayment(psk, term, annualRate));
+            }
+        }
+    }
+
+    private static BigDecimal uncachedMonthlyPayment(BigDecimal psk, int termMonths, BigDecimal annualRatePercent) {
+        BigDecimal monthlyRate = annualRatePercent.divide(BigDecimal.valueOf(12 * 100), MathContext.DECIMAL128);
+        BigDecimal numerator = psk.multiply(monthlyRate);
+        BigDecimal denominatorFactor = BigDecimal.ONE.divide(BigDecimal.ONE.add(monthlyRate).pow(termMonths), MathContext.DECIMAL128);
+        return numerator.divide(BigDecimal.ONE.subtract(denominatorFactor), MathContext.DECIMAL128);
+    }
+}
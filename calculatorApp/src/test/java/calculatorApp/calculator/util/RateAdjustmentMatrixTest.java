@@ -0,0 +1,55 @@
+package calculatorApp.calculator.util;
+
+import calculatorApp.calculator.model.enumerated.EmploymentStatusEnum;
+import calculatorApp.calculator.model.enumerated.Gender;
+import calculatorApp.calculator.model.enumerated.MaritalStatus;
+import calculatorApp.calculator.model.enumerated.Position;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateAdjustmentMatrixTest {
+
+    @Test
+    void rate_ShouldSumDeltasOfAllDimensions() {
+        RateAdjustmentMatrix matrix = createMatrix(2000, 0);
+
+        assertEquals(2000 - 300 - 300 + 200 - 200,
+                matrix.rateBasisPoints(MaritalStatus.MARRIED, Gender.FEMALE, 40, EmploymentStatusEnum.SELF_EMPLOYED, Position.MIDDLE_MANAGER));
+        assertEquals(new BigDecimal("14"),
+                matrix.rate(MaritalStatus.MARRIED, Gender.FEMALE, 40, EmploymentStatusEnum.SELF_EMPLOYED, Position.MIDDLE_MANAGER));
+        assertEquals(new BigDecimal("17"),
+                matrix.rate(MaritalStatus.MARRIED, Gender.FEMALE, 25, null, null));
+        assertEquals(new BigDecimal("20"), matrix.rate(null, null, 25, null, null));
+    }
+
+    @Test
+    void rate_ShouldReturnSharedInstances() {
+        RateAdjustmentMatrix matrix = createMatrix(2000, 0);
+
+        assertSame(matrix.rate(MaritalStatus.MARRIED, Gender.MALE, 40, null, Position.WORKER),
+                matrix.rate(null, Gender.FEMALE, 40, null, null));
+    }
+
+    @Test
+    void rate_NegativeRate_ShouldBeZero() {
+        RateAdjustmentMatrix matrix = createMatrix(500, 2);
+
+        assertEquals(-300 + 500 - 300 - 200, matrix.rateBasisPoints(MaritalStatus.MARRIED, Gender.FEMALE, 40, null, Position.MIDDLE_MANAGER));
+        assertSame(BigDecimal.ZERO, matrix.rate(MaritalStatus.MARRIED, Gender.FEMALE, 40, null, Position.MIDDLE_MANAGER));
+        assertEquals(new BigDecimal("0.00"), matrix.rate(MaritalStatus.MARRIED, null, 40, null, Position.MIDDLE_MANAGER));
+        assertEquals(new BigDecimal("7.00"), matrix.rate(null, null, 40, EmploymentStatusEnum.SELF_EMPLOYED, null));
+    }
+
+    private static RateAdjustmentMatrix createMatrix(int baseRate, int scale) {
+        return new RateAdjustmentMatrix(baseRate, scale,
+                Map.of(MaritalStatus.MARRIED, -300, MaritalStatus.DIVORCED, 100),
+                (gender, age) -> gender == Gender.FEMALE && age >= 32 && age <= 60 ? -300 : 0,
+                65,
+                Map.of(EmploymentStatusEnum.SELF_EMPLOYED, 200),
+                Map.of(Position.MIDDLE_MANAGER, -200));
+    }
+}
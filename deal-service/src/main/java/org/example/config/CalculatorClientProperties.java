@@ -0,0 +1,19 @@
+package org.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "calculator-client")
+@Getter
+@Setter
+public class CalculatorClientProperties {
+    /**
+     * Call the calculator with the non-blocking client: the request thread is released while the calculator
+     * answers and the database work runs in a short transaction afterwards. Otherwise the calls block inside the
+     * transaction of the request.
+     */
+    private boolean async = false;
+}
@@ -0,0 +1,49 @@
+package org.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "calculator-client.resilience")
+@Getter
+@Setter
+public class CalculatorResilienceProperties {
+    /**
+     * Percentage of failed calls in the sliding window that opens the circuit.
+     */
+    private int failureRateThreshold = 50;
+    /**
+     * Number of the most recent calls the failure rate is computed over.
+     */
+    private int slidingWindowSize = 20;
+    /**
+     * Calls the window must hold before the failure rate can open the circuit.
+     */
+    private int minimumCalls = 10;
+    /**
+     * Time an open circuit rejects calls before letting trial calls through.
+     */
+    private Duration openDuration = Duration.ofSeconds(30);
+    /**
+     * Trial calls of a half-open circuit; all must succeed to close it, any failure opens it again.
+     */
+    private int halfOpenCalls = 3;
+    /**
+     * Calls to the calculator in flight at once; matches http-client.max-connections-per-route, beyond which calls
+     * would only queue for a connection.
+     */
+    private int maxConcurrentCalls = 50;
+    /**
+     * Time a call waits for a free slot before it is rejected.
+     */
+    private Duration maxWait = Duration.ZERO;
+    /**
+     * Amount and term combinations whose last offers are kept to answer while the calculator is unavailable.
+     */
+    private int offerFallbackSize = 1000;
+    private Duration offerFallbackTtl = Duration.ofMinutes(10);
+}
@@ -0,0 +1,40 @@
+package org.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "http-client")
+@Getter
+@Setter
+public class HttpClientProperties {
+    /**
+     * Pooled connections to all hosts.
+     */
+    private int maxConnections = 100;
+    /**
+     * Pooled connections to one host, i.e. to one calculator instance.
+     */
+    private int maxConnectionsPerRoute = 50;
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    /**
+     * Time to wait for response data before the call fails.
+     */
+    private Duration readTimeout = Duration.ofSeconds(10);
+    /**
+     * Time to wait for a free pooled connection; a saturated pool fails the call instead of queueing threads.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+    /**
+     * Pooled connections idle longer than this are closed in the background.
+     */
+    private Duration idleEvictionTimeout = Duration.ofSeconds(30);
+    /**
+     * Pooled connections idle longer than this are checked before reuse.
+     */
+    private Duration validateAfterInactivity = Duration.ofSeconds(5);
+}
@@ -0,0 +1,21 @@
+package org.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "payment-schedule.migration")
+@Getter
+@Setter
+public class PaymentScheduleMigrationProperties {
+    /**
+     * Rewrite payment schedules stored in the legacy row format on startup.
+     */
+    private boolean enabled;
+    /**
+     * Credits read and updated per transaction.
+     */
+    private int batchSize = 500;
+}
@@ -0,0 +1,22 @@
+package org.example.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.example.model.enumerated.PaymentScheduleMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "payment-schedule")
+@Getter
+@Setter
+public class PaymentScheduleProperties {
+    /**
+     * How new credits keep their payment schedule.
+     */
+    private PaymentScheduleMode mode = PaymentScheduleMode.STORED;
+    /**
+     * Regenerated schedules kept in memory, least recently used are evicted first.
+     */
+    private int cacheSize = 1000;
+}
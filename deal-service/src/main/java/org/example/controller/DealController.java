@@ -5,9 +5,11 @@ import io.swagger.v3.oas.annotations.Parameter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.config.CalculatorClientProperties;
 import org.example.model.dto.FinishRegistrationRequestDto;
 import org.example.model.dto.LoanOfferDto;
 import org.example.model.dto.LoanStatementRequestDto;
+import org.example.model.dto.PaymentScheduleElementDto;
 import org.example.service.LoanProcessingFacade;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,6 +17,7 @@ import org.springframework.web.bind.annotation.*;
 import javax.naming.ServiceUnavailableException;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/deal")
@@ -23,18 +26,23 @@ import java.util.UUID;
 
 public class DealController {
     private final LoanProcessingFacade loanProcessingFacade;
+    private final CalculatorClientProperties calculatorClientProperties;
 
     @PostMapping("/statement")
     @Operation(
             summary = "Расчет предложений",
             description = "Принимает данные для прескоринга и возвращает список кредитных предложений"
     )
-    public List<LoanOfferDto> createStatement(
+    public CompletableFuture<List<LoanOfferDto>> createStatement(
             @RequestBody @Parameter(description = "Данные для прескоринга")
             @Valid LoanStatementRequestDto requestDto) throws ServiceUnavailableException {
 
-        log.info("Начало расчета кредита. Тело запроса: {}", requestDto);
-        return loanProcessingFacade.processLoanApplication(requestDto);
+        log.info("Начало расчета кредита. Сумма: {}, срок: {}", requestDto.getAmount(), requestDto.getTerm());
+        log.debug("Тело запроса: {}", requestDto);
+        if (calculatorClientProperties.isAsync()) {
+            return loanProcessingFacade.processLoanApplicationAsync(requestDto);
+        }
+        return CompletableFuture.completedFuture(loanProcessingFacade.processLoanApplication(requestDto));
     }
 
     @PostMapping("/offer/select")
@@ -45,7 +53,8 @@ public class DealController {
     public ResponseEntity<Void> selectOffer(
             @RequestBody @Valid LoanOfferDto loanOfferDto) {
 
-        log.info("Начало выбора предложения. Тело запроса: {}", loanOfferDto);
+        log.info("Начало выбора предложения. statementId: {}", loanOfferDto.getStatementId());
+        log.debug("Тело запроса: {}", loanOfferDto);
         loanProcessingFacade.processOfferSelection(loanOfferDto);
         return ResponseEntity.ok().build();
     }
@@ -55,14 +64,28 @@ public class DealController {
             summary = "Финальный расчет кредита",
             description = "Принимает данные для финального расчета и создает кредит"
     )
-    public ResponseEntity<Void> finishCalculateCredit(
+    public CompletableFuture<ResponseEntity<Void>> finishCalculateCredit(
             @PathVariable UUID statementId,
             @RequestBody @Valid FinishRegistrationRequestDto requestDto)
             throws ServiceUnavailableException {
 
-        log.info("Начало финального расчета. statementId: {} Тело запроса: {}",
-                statementId, requestDto);
+        log.info("Начало финального расчета. statementId: {}", statementId);
+        log.debug("Тело запроса: {}", requestDto);
+        if (calculatorClientProperties.isAsync()) {
+            return loanProcessingFacade.processCreditCalculationAsync(requestDto, statementId)
+                    .thenApply(ignored -> ResponseEntity.ok().build());
+        }
         loanProcessingFacade.processCreditCalculation(requestDto, statementId);
-        return ResponseEntity.ok().build();
+        return CompletableFuture.completedFuture(ResponseEntity.ok().build());
+    }
+
+    @GetMapping("/credit/{creditId}/schedule")
+    @Operation(
+            summary = "График платежей",
+            description = "Возвращает график платежей кредита"
+    )
+    public List<PaymentScheduleElementDto> getPaymentSchedule(@PathVariable UUID creditId) {
+        log.info("Запрос графика платежей. creditId: {}", creditId);
+        return loanProcessingFacade.getPaymentSchedule(creditId);
     }
 }
@@ -14,6 +14,7 @@ import java.time.LocalDate;
 @AllArgsConstructor
 @Getter
 @Setter
+@EqualsAndHashCode
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @NoArgsConstructor
 @Builder
@@ -24,5 +25,9 @@ public class StatusHistory implements Serializable {
     LocalDate time;
     @Enumerated(EnumType.STRING)
     ChangeType changeType;
+    /**
+     * Why the status was set, e.g. the scoring rejection reason for {@code CC_DENIED}; empty for the other statuses.
+     */
+    String reason;
 
 }
@@ -0,0 +1,259 @@
+package org.example.model.converter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.cfg.JsonNodeFeature;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.example.model.PaymentSchedule;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Stores {@code Credit.paymentSchedule} in a columnar JSON object instead of an array of row objects:
+ * <pre>
+ * {"format":"columnar-v1","start":"2024-01-31",
+ *  "totalPayment":[2058190,...],"interestPayment":[...],"debtPayment":[...],"remainingDebt":[...]}
+ * </pre>
+ * Amounts are kopecks. Payment numbers are 1..n and payment {@code n} is dated {@code start} plus {@code n} months;
+ * schedules that do not follow that pattern carry explicit {@code number} and {@code date} (epoch day) columns.
+ * A schedule with an empty value or an amount finer than a kopeck is written in the legacy row format.
+ * <p>
+ * Reading accepts both the columnar format and the legacy array of rows, so existing rows keep working and
+ * can be rewritten by {@link org.example.service.PaymentScheduleMigration}.
+ */
+@Converter
+public class PaymentScheduleConverter implements AttributeConverter<List<PaymentSchedule>, String> {
+    public static final String FORMAT = "columnar-v1";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS)
+            .configure(JsonNodeFeature.STRIP_TRAILING_BIGDECIMAL_ZEROES, false);
+    private static final JsonFactory FACTORY = MAPPER.getFactory();
+    private static final BigDecimal MAX_KOPECKS = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    @Override
+    public String convertToDatabaseColumn(List<PaymentSchedule> schedule) {
+        if (schedule == null) {
+            return null;
+        }
+        StringWriter json = new StringWriter(schedule.size() * 40 + 64);
+        try (JsonGenerator generator = FACTORY.createGenerator(json)) {
+            if (isColumnar(schedule)) {
+                writeColumnar(generator, schedule);
+            } else {
+                writeRows(generator, schedule);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return json.toString();
+    }
+
+    @Override
+    public List<PaymentSchedule> convertToEntityAttribute(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            JsonNode root = MAPPER.readTree(json);
+            return root.isArray() ? readRows(root) : readColumnar(root);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * True if {@code json} is already stored in the columnar format.
+     */
+    public static boolean isCurrentFormat(String json) {
+        return json != null && !json.stripLeading().startsWith("[");
+    }
+
+    private static boolean isColumnar(List<PaymentSchedule> schedule) {
+        for (PaymentSchedule row : schedule) {
+            if (row.getNumber() == null || row.getDate() == null
+                    || !isKopecks(row.getTotalPayment()) || !isKopecks(row.getInterestPayment())
+                    || !isKopecks(row.getDebtPayment()) || !isKopecks(row.getRemainingDebt())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isKopecks(BigDecimal value) {
+        if (value == null) {
+            return false;
+        }
+        BigDecimal kopecks = value.movePointRight(2);
+        return kopecks.signum() == 0
+                || kopecks.stripTrailingZeros().scale() <= 0 && kopecks.abs().compareTo(MAX_KOPECKS) <= 0;
+    }
+
+    private static void writeColumnar(JsonGenerator generator, List<PaymentSchedule> schedule) throws IOException {
+        LocalDate start = findStart(schedule);
+        boolean regularDates = start != null || schedule.isEmpty();
+        boolean regularNumbers = true;
+        for (int i = 0; i < schedule.size(); i++) {
+            regularNumbers &= schedule.get(i).getNumber() == i + 1;
+        }
+
+        generator.writeStartObject();
+        generator.writeStringField("format", FORMAT);
+        if (start != null) {
+            generator.writeStringField("start", start.toString());
+        }
+        if (!regularNumbers) {
+            generator.writeArrayFieldStart("number");
+            for (PaymentSchedule row : schedule) {
+                generator.writeNumber(row.getNumber());
+            }
+            generator.writeEndArray();
+        }
+        if (!regularDates) {
+            generator.writeArrayFieldStart("date");
+            for (PaymentSchedule row : schedule) {
+                generator.writeNumber(row.getDate().toEpochDay());
+            }
+            generator.writeEndArray();
+        }
+        writeKopecks(generator, "totalPayment", schedule, PaymentSchedule::getTotalPayment);
+        writeKopecks(generator, "interestPayment", schedule, PaymentSchedule::getInterestPayment);
+        writeKopecks(generator, "debtPayment", schedule, PaymentSchedule::getDebtPayment);
+        writeKopecks(generator, "remainingDebt", schedule, PaymentSchedule::getRemainingDebt);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Date every payment is counted from, or {@code null} if the dates are not monthly from a common start.
+     * Days clamped at the end of a month (31 January plus one month is 29 February) leave up to three candidates.
+     */
+    public static LocalDate findStart(List<PaymentSchedule> schedule) {
+        if (schedule.isEmpty()) {
+            return null;
+        }
+        PaymentSchedule first = schedule.get(0);
+        LocalDate candidate = first.getDate().minusMonths(first.getNumber());
+        while (candidate.plusMonths(first.getNumber()).equals(first.getDate())) {
+            if (isMonthlyFrom(candidate, schedule)) {
+                return candidate;
+            }
+            candidate = candidate.plusDays(1);
+        }
+        return null;
+    }
+
+    private static boolean isMonthlyFrom(LocalDate start, List<PaymentSchedule> schedule) {
+        for (PaymentSchedule row : schedule) {
+            if (!row.getDate().equals(start.plusMonths(row.getNumber()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeKopecks(JsonGenerator generator, String name, List<PaymentSchedule> schedule,
+                                     Function<PaymentSchedule, BigDecimal> amount) throws IOException {
+        generator.writeArrayFieldStart(name);
+        for (PaymentSchedule row : schedule) {
+            generator.writeNumber(amount.apply(row).movePointRight(2).longValueExact());
+        }
+        generator.writeEndArray();
+    }
+
+    private static List<PaymentSchedule> readColumnar(JsonNode root) {
+        String format = root.path("format").asText();
+        if (!FORMAT.equals(format)) {
+            throw new IllegalStateException("Неизвестный формат графика платежей: " + format);
+        }
+        JsonNode total = root.get("totalPayment");
+        JsonNode interest = root.get("interestPayment");
+        JsonNode debt = root.get("debtPayment");
+        JsonNode remaining = root.get("remainingDebt");
+        JsonNode numbers = root.get("number");
+        JsonNode dates = root.get("date");
+        LocalDate start = root.has("start") ? LocalDate.parse(root.get("start").asText()) : null;
+
+        List<PaymentSchedule> schedule = new ArrayList<>(total.size());
+        for (int i = 0; i < total.size(); i++) {
+            int number = numbers != null ? numbers.get(i).asInt() : i + 1;
+            schedule.add(new PaymentSchedule(
+                    number,
+                    dates != null ? LocalDate.ofEpochDay(dates.get(i).asLong()) : start.plusMonths(number),
+                    BigDecimal.valueOf(total.get(i).asLong(), 2),
+                    BigDecimal.valueOf(interest.get(i).asLong(), 2),
+                    BigDecimal.valueOf(debt.get(i).asLong(), 2),
+                    BigDecimal.valueOf(remaining.get(i).asLong(), 2)));
+        }
+        return schedule;
+    }
+
+    private static void writeRows(JsonGenerator generator, List<PaymentSchedule> schedule) throws IOException {
+        generator.writeStartArray();
+        for (PaymentSchedule row : schedule) {
+            generator.writeStartObject();
+            if (row.getNumber() != null) {
+                generator.writeNumberField("number", row.getNumber());
+            }
+            if (row.getDate() != null) {
+                generator.writeStringField("date", row.getDate().toString());
+            }
+            writeDecimal(generator, "totalPayment", row.getTotalPayment());
+            writeDecimal(generator, "interestPayment", row.getInterestPayment());
+            writeDecimal(generator, "debtPayment", row.getDebtPayment());
+            writeDecimal(generator, "remainingDebt", row.getRemainingDebt());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeDecimal(JsonGenerator generator, String name, BigDecimal value) throws IOException {
+        if (value != null) {
+            generator.writeNumberField(name, value);
+        }
+    }
+
+    /**
+     * Legacy format: one object per payment, dates either as ISO strings or as {@code [year, month, day]}.
+     */
+    private static List<PaymentSchedule> readRows(JsonNode rows) {
+        List<PaymentSchedule> schedule = new ArrayList<>(rows.size());
+        for (JsonNode row : rows) {
+            schedule.add(new PaymentSchedule(
+                    row.hasNonNull("number") ? row.get("number").asInt() : null,
+                    readDate(row.get("date")),
+                    readDecimal(row.get("totalPayment")),
+                    readDecimal(row.get("interestPayment")),
+                    readDecimal(row.get("debtPayment")),
+                    readDecimal(row.get("remainingDebt"))));
+        }
+        return schedule;
+    }
+
+    private static LocalDate readDate(JsonNode date) {
+        if (date == null || date.isNull()) {
+            return null;
+        }
+        if (date.isArray()) {
+            return LocalDate.of(date.get(0).asInt(), date.get(1).asInt(), date.get(2).asInt());
+        }
+        return LocalDate.parse(date.asText());
+    }
+
+    private static BigDecimal readDecimal(JsonNode value) {
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        return value.isNumber() ? value.decimalValue() : new BigDecimal(value.asText());
+    }
+}
@@ -12,7 +12,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @Getter
 @Setter
-@Builder
+@Builder(toBuilder = true)
 public class LoanOfferDto {
      UUID statementId;
      BigDecimal requestedAmount;
@@ -0,0 +1,12 @@
+package org.example.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoringRejectionDto {
+    private String rejectionReason;
+}
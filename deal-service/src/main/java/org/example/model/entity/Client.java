@@ -21,7 +21,7 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class Client {
+public class Client extends AssignedIdEntity {
     @Id
     @Column(name = "client_id")
     UUID clientId;
@@ -61,4 +61,8 @@ public class Client {
     @Column(name = "account_number")
     String accountNumber;
 
+    @Override
+    public UUID getId() {
+        return clientId;
+    }
 }
@@ -4,11 +4,13 @@ import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.FieldDefaults;
 import org.example.model.PaymentSchedule;
+import org.example.model.converter.PaymentScheduleConverter;
 import org.example.model.enumerated.CreditStatus;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,7 +22,7 @@ import java.util.UUID;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class Credit {
+public class Credit extends AssignedIdEntity {
     @Id
     @Column(name = "credit_id")
     UUID creditId;
@@ -40,10 +42,20 @@ public class Credit {
     @Column(name = "psk")
     BigDecimal psk;
 
+    @Convert(converter = PaymentScheduleConverter.class)
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "payment_schedule", columnDefinition = "jsonb")
     List<PaymentSchedule> paymentSchedule;
 
+    /**
+     * Version of the generator a derived schedule is regenerated with, {@code null} if the rows are stored.
+     */
+    @Column(name = "payment_schedule_version")
+    Integer paymentScheduleVersion;
+
+    @Column(name = "payment_schedule_start")
+    LocalDate paymentScheduleStart;
+
     @Column(name = "insurance_enabled")
     Boolean insuranceEnabled;
 
@@ -54,4 +66,8 @@ public class Credit {
     @Column(name = "credit_status")
     CreditStatus creditStatus;
 
+    @Override
+    public UUID getId() {
+        return creditId;
+    }
 }
@@ -22,7 +22,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Statement {
+public class Statement extends AssignedIdEntity {
 
     @Id
     @Column(name = "statement_id")
@@ -57,5 +57,8 @@ public class Statement {
     @Column(name = "status_history", columnDefinition = "jsonb")
     private List<StatusHistory> statusHistory = new ArrayList<>();
 
-
+    @Override
+    public UUID getId() {
+        return statementId;
+    }
 }
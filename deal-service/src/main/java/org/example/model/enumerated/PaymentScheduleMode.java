@@ -0,0 +1,12 @@
+package org.example.model.enumerated;
+
+public enum PaymentScheduleMode {
+    /**
+     * Every row of the schedule is stored with the credit.
+     */
+    STORED,
+    /**
+     * Only the credit parameters and the schedule version are stored; rows are regenerated when read.
+     */
+    DERIVED
+}
@@ -1,12 +1,20 @@
 package org.example.repository;
 
+import org.example.model.PaymentSchedule;
 import org.example.model.entity.Credit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 @Repository
 public interface CreditRepository extends JpaRepository<Credit, UUID> {
     Optional<Credit> findById(UUID creditId);
+
+    @Modifying
+    @Query("update Credit c set c.paymentSchedule = :paymentSchedule where c.creditId = :creditId")
+    int updatePaymentSchedule(UUID creditId, List<PaymentSchedule> paymentSchedule);
 }
@@ -0,0 +1,24 @@
+package org.example.service;
+
+import org.example.model.dto.LoanOfferDto;
+import org.example.model.dto.LoanStatementRequestDto;
+import org.example.model.dto.ScoringDataDto;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking calls to the calculator. The futures complete on the threads of the HTTP client; a failed call
+ * completes them exceptionally with {@link javax.naming.ServiceUnavailableException}.
+ */
+public interface AsyncCalculatorClient {
+    /**
+     * Offers in the order the calculator returns them, ascending by rate.
+     */
+    CompletableFuture<List<LoanOfferDto>> calculateOffers(LoanStatementRequestDto requestDto);
+
+    /**
+     * Completes with {@link CreditDecision.Rejected} when the scoring rejects the application.
+     */
+    CompletableFuture<CreditDecision> calculateCredit(ScoringDataDto scoringData);
+}
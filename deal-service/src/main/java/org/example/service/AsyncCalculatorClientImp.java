@@ -0,0 +1,142 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.HttpClientProperties;
+import org.example.config.PreScoringServiceProperties;
+import org.example.config.ScoringServiceProperties;
+import org.example.model.dto.CreditDto;
+import org.example.model.dto.LoanOfferDto;
+import org.example.model.dto.LoanStatementRequestDto;
+import org.example.model.dto.ScoringDataDto;
+import org.example.model.dto.ScoringRejectionDto;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import javax.naming.ServiceUnavailableException;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@Service
+@Slf4j
+public class AsyncCalculatorClientImp implements AsyncCalculatorClient {
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final HttpClientProperties httpClientProperties;
+    private final PreScoringServiceProperties preScoringProperties;
+    private final ScoringServiceProperties scoringProperties;
+    private final CalculatorCallGuard callGuard;
+    private final OfferFallbackCache offerFallback;
+    private final JavaType offersType;
+
+    public AsyncCalculatorClientImp(@Qualifier("calculatorHttpClient") HttpClient httpClient,
+                                    ObjectMapper objectMapper,
+                                    HttpClientProperties httpClientProperties,
+                                    PreScoringServiceProperties preScoringProperties,
+                                    ScoringServiceProperties scoringProperties,
+                                    CalculatorCallGuard callGuard,
+                                    OfferFallbackCache offerFallback) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.httpClientProperties = httpClientProperties;
+        this.preScoringProperties = preScoringProperties;
+        this.scoringProperties = scoringProperties;
+        this.callGuard = callGuard;
+        this.offerFallback = offerFallback;
+        this.offersType = objectMapper.getTypeFactory().constructType(new TypeReference<List<LoanOfferDto>>() {});
+    }
+
+    /**
+     * Falls back to the last offers for the same amount and term like {@link OfferCalculationServiceImp}.
+     */
+    @Override
+    public CompletableFuture<List<LoanOfferDto>> calculateOffers(LoanStatementRequestDto requestDto) {
+        String url = preScoringProperties.getUrl();
+        return send(url, requestDto).handle((response, e) -> {
+            if (e != null) {
+                ServiceUnavailableException error = unavailable(e);
+                return offerFallback.get(requestDto).orElseThrow(() -> new CompletionException(error));
+            }
+            List<LoanOfferDto> offers = read(url, response, offersType);
+            offerFallback.put(requestDto, offers);
+            return offers;
+        });
+    }
+
+    @Override
+    public CompletableFuture<CreditDecision> calculateCredit(ScoringDataDto scoringData) {
+        String url = scoringProperties.getUrl();
+        return send(url, scoringData).handle((response, e) -> {
+            if (e != null) {
+                throw new CompletionException(unavailable(e));
+            }
+            if (response.statusCode() == HttpStatus.UNPROCESSABLE_ENTITY.value()) {
+                ScoringRejectionDto rejection = read(url, response, objectMapper.constructType(ScoringRejectionDto.class));
+                return new CreditDecision.Rejected(rejection.getRejectionReason());
+            }
+            return new CreditDecision.Approved(read(url, response, objectMapper.constructType(CreditDto.class)));
+        });
+    }
+
+    /**
+     * Sends the request through {@link CalculatorCallGuard}; I/O errors and 5xx answers count as its failures and
+     * complete the future exceptionally, other answers are returned as they are.
+     */
+    private CompletableFuture<HttpResponse<byte[]>> send(String url, Object body) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(url))
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                    .timeout(httpClientProperties.getReadTimeout())
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return callGuard.callAsync(() -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if (response.statusCode() >= 500) {
+                        log.error("Калькулятор {} вернул статус {}", url, response.statusCode());
+                        throw new CompletionException(new ServiceUnavailableException("Сервис калькулятора вернул ошибку"));
+                    }
+                    return response;
+                }));
+    }
+
+    private <T> T read(String url, HttpResponse<byte[]> response, JavaType type) {
+        boolean readable = response.statusCode() / 100 == 2 || response.statusCode() == HttpStatus.UNPROCESSABLE_ENTITY.value();
+        if (!readable || response.body().length == 0) {
+            log.error("Калькулятор {} вернул статус {}", url, response.statusCode());
+            throw new CompletionException(new ServiceUnavailableException("Сервис калькулятора вернул ошибку"));
+        }
+        try {
+            return objectMapper.readValue(response.body(), type);
+        } catch (IOException e) {
+            log.error("Некорректный ответ калькулятора {}", url, e);
+            throw new CompletionException(new ServiceUnavailableException("Сервис калькулятора вернул ошибку"));
+        }
+    }
+
+    private static ServiceUnavailableException unavailable(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof ServiceUnavailableException unavailable) {
+            return unavailable;
+        }
+        log.error("Ошибка при запросе к калькулятору", cause);
+        return new ServiceUnavailableException("Сервис калькулятора недоступен");
+    }
+}
@@ -0,0 +1,242 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.CalculatorResilienceProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import javax.naming.ServiceUnavailableException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker and bulkhead shared by all calls to the calculator.
+ * <p>
+ * The bulkhead admits {@code max-concurrent-calls} calls at once and rejects the rest after {@code max-wait}. The
+ * circuit opens when {@code failure-rate-threshold} percent of the last {@code sliding-window-size} calls failed, and
+ * rejects every call for {@code open-duration}; then {@code half-open-calls} trial calls decide whether it closes
+ * again. A call fails when it throws, except for 4xx answers: the calculator is up and refused the request.
+ * <p>
+ * Rejected calls throw {@link ServiceUnavailableException} without reaching the calculator. The state, the free
+ * slots and the rejections by reason are published to any {@link MeterRegistry} in the context.
+ */
+@Component
+@Slf4j
+public class CalculatorCallGuard implements MeterBinder {
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    @FunctionalInterface
+    public interface Call<T> {
+        T execute() throws ServiceUnavailableException;
+    }
+
+    private final CalculatorResilienceProperties properties;
+    private final LongSupplier nanoTime;
+    private final Semaphore bulkhead;
+    private final LongAdder rejectedOpen = new LongAdder();
+    private final LongAdder rejectedFull = new LongAdder();
+
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCalls;
+    private int windowFailures;
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    @Autowired
+    public CalculatorCallGuard(CalculatorResilienceProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    CalculatorCallGuard(CalculatorResilienceProperties properties, LongSupplier nanoTime) {
+        this.properties = properties;
+        this.nanoTime = nanoTime;
+        this.bulkhead = new Semaphore(properties.getMaxConcurrentCalls());
+        this.window = new boolean[properties.getSlidingWindowSize()];
+    }
+
+    public <T> T call(Call<T> call) throws ServiceUnavailableException {
+        acquire();
+        try {
+            T result = call.execute();
+            onSuccess();
+            return result;
+        } catch (HttpClientErrorException e) {
+            onSuccess();
+            throw e;
+        } catch (ServiceUnavailableException | RuntimeException e) {
+            onFailure();
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    /**
+     * Guards a call whose outcome is the returned future; the slot is held until it completes.
+     */
+    public <T> CompletableFuture<T> callAsync(Supplier<CompletableFuture<T>> call) {
+        try {
+            acquire();
+        } catch (ServiceUnavailableException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            bulkhead.release();
+            onFailure();
+            return CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((result, error) -> {
+            bulkhead.release();
+            if (error == null) {
+                onSuccess();
+            } else {
+                onFailure();
+            }
+        });
+    }
+
+    public synchronized State getState() {
+        return currentState();
+    }
+
+    public long getRejectedByOpenCircuit() {
+        return rejectedOpen.sum();
+    }
+
+    public long getRejectedByFullBulkhead() {
+        return rejectedFull.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("calculator.circuit.state", this, guard -> guard.getState().ordinal())
+                .description("0 - closed, 1 - open, 2 - half-open")
+                .register(registry);
+        Gauge.builder("calculator.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .register(registry);
+        FunctionCounter.builder("calculator.calls.rejected", rejectedOpen, LongAdder::sum)
+                .tag("reason", "circuit_open")
+                .register(registry);
+        FunctionCounter.builder("calculator.calls.rejected", rejectedFull, LongAdder::sum)
+                .tag("reason", "bulkhead_full")
+                .register(registry);
+    }
+
+    private void acquire() throws ServiceUnavailableException {
+        if (!tryAcquirePermission()) {
+            rejectedOpen.increment();
+            throw new ServiceUnavailableException("Сервис калькулятора временно недоступен");
+        }
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire(properties.getMaxWait().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            releasePermission();
+            rejectedFull.increment();
+            throw new ServiceUnavailableException("Превышено число одновременных запросов к калькулятору");
+        }
+    }
+
+    private synchronized boolean tryAcquirePermission() {
+        return switch (currentState()) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (halfOpenPermits == 0) {
+                    yield false;
+                }
+                halfOpenPermits--;
+                yield true;
+            }
+        };
+    }
+
+    /**
+     * Returns a trial call that was admitted by the circuit but rejected by the bulkhead.
+     */
+    private synchronized void releasePermission() {
+        if (state == State.HALF_OPEN) {
+            halfOpenPermits++;
+        }
+    }
+
+    private synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSuccesses >= properties.getHalfOpenCalls()) {
+                transitionTo(State.CLOSED);
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    private synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (windowCalls >= properties.getMinimumCalls()
+                    && windowFailures * 100L >= (long) properties.getFailureRateThreshold() * windowCalls) {
+                transitionTo(State.OPEN);
+            }
+        }
+    }
+
+    private State currentState() {
+        if (state == State.OPEN && nanoTime.getAsLong() - openedAt >= properties.getOpenDuration().toNanos()) {
+            transitionTo(State.HALF_OPEN);
+        }
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (windowCalls == window.length) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCalls++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % window.length;
+    }
+
+    private void transitionTo(State next) {
+        log.warn("Автоматический выключатель калькулятора: {} -> {}", state, next);
+        state = next;
+        switch (next) {
+            case OPEN -> openedAt = nanoTime.getAsLong();
+            case HALF_OPEN -> {
+                halfOpenPermits = properties.getHalfOpenCalls();
+                halfOpenSuccesses = 0;
+            }
+            case CLOSED -> {
+                windowIndex = 0;
+                windowCalls = 0;
+                windowFailures = 0;
+            }
+        }
+    }
+}
@@ -5,4 +5,6 @@ import org.example.model.entity.Client;
 
 public interface ClientService {
     Client createClient(LoanStatementRequestDto requestDto);
+
+    void deleteClient(Client client);
 }
@@ -32,4 +32,10 @@ public class ClientServiceImp implements ClientService{
 
         return clientRepository.save(client);
     }
+
+    @Override
+    @Transactional
+    public void deleteClient(Client client) {
+        clientRepository.deleteById(client.getClientId());
+    }
 }
@@ -0,0 +1,15 @@
+package org.example.service;
+
+import org.example.model.dto.CreditDto;
+
+/**
+ * Answer of the calculator to the full scoring: the calculated credit, or the reason the application was rejected.
+ */
+public sealed interface CreditDecision {
+
+    record Approved(CreditDto credit) implements CreditDecision {
+    }
+
+    record Rejected(String reason) implements CreditDecision {
+    }
+}
@@ -1,11 +1,26 @@
 package org.example.service;
 
+import org.example.model.dto.PaymentScheduleElementDto;
 import org.example.model.dto.ScoringDataDto;
 import org.example.model.entity.Credit;
 import org.example.model.entity.Statement;
 
 import javax.naming.ServiceUnavailableException;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 public interface CreditService {
-    Credit createCredit(ScoringDataDto scoringData, Statement statement) throws ServiceUnavailableException;
+    /**
+     * Scores the application in the calculator.
+     */
+    CreditDecision calculateCredit(ScoringDataDto scoringData) throws ServiceUnavailableException;
+
+    /**
+     * Stores a decision already made by the calculator: the approved credit is stored and returned, a rejection marks
+     * the statement as {@code CC_DENIED} and returns an empty result.
+     */
+    Optional<Credit> saveCredit(CreditDecision decision, Statement statement);
+
+    List<PaymentScheduleElementDto> getPaymentSchedule(UUID creditId);
 }
@@ -1,10 +1,12 @@
 package org.example.service;
 
+import jakarta.persistence.EntityNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 import org.example.config.ScoringServiceProperties;
 import org.example.model.PaymentSchedule;
 import org.example.model.dto.CreditDto;
 import org.example.model.dto.PaymentScheduleElementDto;
+import org.example.model.dto.ScoringRejectionDto;
 import org.example.model.dto.ScoringDataDto;
 import org.example.model.entity.Credit;
 import org.example.model.entity.Statement;
@@ -17,6 +19,7 @@ import org.springframework.web.client.*;
 
 import javax.naming.ServiceUnavailableException;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -26,41 +29,71 @@ public class CreditServiceImp implements CreditService {
     private final CreditRepository creditRepository;
     private final RestTemplate restTemplate;
     private final ScoringServiceProperties properties;
+    private final PaymentScheduleService paymentScheduleService;
+    private final StatementService statementService;
+    private final CalculatorCallGuard callGuard;
 
     public CreditServiceImp(CreditRepository creditRepository,
                              RestTemplate restTemplate,
-                             ScoringServiceProperties properties) {
+                             ScoringServiceProperties properties,
+                             PaymentScheduleService paymentScheduleService,
+                             StatementService statementService,
+                             CalculatorCallGuard callGuard) {
         this.creditRepository = creditRepository;
         this.restTemplate = restTemplate;
         this.properties = properties;
+        this.paymentScheduleService = paymentScheduleService;
+        this.statementService = statementService;
+        this.callGuard = callGuard;
     }
 
     @Override
     @Transactional
-    public Credit createCredit(ScoringDataDto scoringData, Statement statement) throws ServiceUnavailableException {
-        CreditDto creditDto = calculateCredit(scoringData);
-        Credit credit = buildCreditEntity(creditDto);
-        return creditRepository.save(credit);
+    public Optional<Credit> saveCredit(CreditDecision decision, Statement statement) {
+        return switch (decision) {
+            case CreditDecision.Approved approved -> Optional.of(creditRepository.save(buildCreditEntity(approved.credit())));
+            case CreditDecision.Rejected rejected -> {
+                statementService.denyStatement(statement, rejected.reason());
+                yield Optional.empty();
+            }
+        };
     }
 
-    CreditDto calculateCredit(ScoringDataDto scoringData) throws ServiceUnavailableException {
+    @Override
+    @Transactional(readOnly = true)
+    public List<PaymentScheduleElementDto> getPaymentSchedule(UUID creditId) {
+        Credit credit = creditRepository.findById(creditId)
+                .orElseThrow(() -> new EntityNotFoundException("Кредит не найден"));
+        return paymentScheduleService.getPaymentSchedule(credit).stream()
+                .map(this::mapToPaymentScheduleElement)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * A rejection of the scoring comes as 422 with the reason and is returned as {@link CreditDecision.Rejected}.
+     * Rejections of {@link CalculatorCallGuard} are thrown as they are: a credit has no local fallback.
+     */
+    @Override
+    public CreditDecision calculateCredit(ScoringDataDto scoringData) throws ServiceUnavailableException {
+        ResponseEntity<CreditDto> response;
         try {
-            ResponseEntity<CreditDto> response = restTemplate.postForEntity(
+            response = callGuard.call(() -> restTemplate.postForEntity(
                     properties.getUrl(),
                     scoringData,
-                    CreditDto.class);
-
-            if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
-                throw new ServiceUnavailableException("Ошибка сервиса скоринга");
-            }
-
-            return response.getBody();
+                    CreditDto.class));
+        } catch (HttpClientErrorException.UnprocessableEntity e) {
+            ScoringRejectionDto rejection = e.getResponseBodyAs(ScoringRejectionDto.class);
+            return new CreditDecision.Rejected(rejection != null ? rejection.getRejectionReason() : null);
         } catch (RestClientException e) {
             log.error("Ошибка сервиса скоринга", e);
             throw new ServiceUnavailableException("Сервис скоринга недоступен");
-        } catch (ServiceUnavailableException e) {
-            throw new RuntimeException(e);
         }
+
+        if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+            throw new ServiceUnavailableException("Ошибка сервиса скоринга");
+        }
+
+        return new CreditDecision.Approved(response.getBody());
     }
 
     Credit buildCreditEntity(CreditDto creditDto) {
@@ -68,7 +101,7 @@ public class CreditServiceImp implements CreditService {
                 .map(this::mapToPaymentSchedule)
                 .collect(Collectors.toList());
 
-        return Credit.builder()
+        Credit credit = Credit.builder()
                 .creditId(UUID.randomUUID())
                 .amount(creditDto.getAmount())
                 .term(creditDto.getTerm())
@@ -80,6 +113,8 @@ public class CreditServiceImp implements CreditService {
                 .salaryClient(creditDto.getIsSalaryClient())
                 .creditStatus(CreditStatus.CALCULATED)
                 .build();
+        paymentScheduleService.prepareForStorage(credit);
+        return credit;
     }
 
     PaymentSchedule mapToPaymentSchedule(PaymentScheduleElementDto dto) {
@@ -93,4 +128,14 @@ public class CreditServiceImp implements CreditService {
                 .build();
     }
 
+    PaymentScheduleElementDto mapToPaymentScheduleElement(PaymentSchedule paymentSchedule) {
+        return new PaymentScheduleElementDto(
+                paymentSchedule.getNumber(),
+                paymentSchedule.getDate(),
+                paymentSchedule.getTotalPayment(),
+                paymentSchedule.getInterestPayment(),
+                paymentSchedule.getDebtPayment(),
+                paymentSchedule.getRemainingDebt());
+    }
+
 }
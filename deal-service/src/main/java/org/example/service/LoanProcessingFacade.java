@@ -1,21 +1,39 @@
 package org.example.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.example.model.dto.FinishRegistrationRequestDto;
 import org.example.model.dto.LoanOfferDto;
 import org.example.model.dto.LoanStatementRequestDto;
+import org.example.model.dto.PaymentScheduleElementDto;
 import org.example.model.dto.ScoringDataDto;
 import org.example.model.entity.Client;
-import org.example.model.entity.Credit;
 import org.example.model.entity.Statement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.task.SimpleAsyncTaskExecutorBuilder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.naming.ServiceUnavailableException;
-import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
+/**
+ * Database work that runs beside a calculator call, such as the statement insert, runs on a dedicated executor with
+ * one virtual thread per task: it only waits for a connection of the pool, not for a thread of the shared
+ * application task executor, whose few platform threads would queue the inserts of all request threads.
+ * <p>
+ * The duration of each step of a request is published as {@code deal.stage}, tagged with the stage: the client and
+ * statement inserts, the offer and scoring calls to the calculator and the credit insert.
+ */
 @Service
 @Slf4j
 public class LoanProcessingFacade {
@@ -23,27 +41,89 @@ public class LoanProcessingFacade {
     private final StatementService statementService;
     private final OfferCalculationService offerService;
     private final CreditService creditService;
+    private final AsyncCalculatorClient calculatorClient;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final Executor databaseExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Timer clientInsertTimer;
+    private final Timer statementInsertTimer;
+    private final Timer offersCallTimer;
+    private final Timer scoringCallTimer;
+    private final Timer creditInsertTimer;
 
+    @Autowired
     public LoanProcessingFacade(ClientService clientService,
                                 StatementService statementService,
                                 OfferCalculationService offerService,
-                                CreditService creditService) {
+                                CreditService creditService,
+                                AsyncCalculatorClient calculatorClient,
+                                PlatformTransactionManager transactionManager,
+                                SimpleAsyncTaskExecutorBuilder executorBuilder,
+                                MeterRegistry meterRegistry) {
+        this(clientService, statementService, offerService, creditService, calculatorClient, transactionManager,
+                executorBuilder.virtualThreads(true).threadNamePrefix("deal-db-").build(), meterRegistry);
+    }
+
+    LoanProcessingFacade(ClientService clientService,
+                         StatementService statementService,
+                         OfferCalculationService offerService,
+                         CreditService creditService,
+                         AsyncCalculatorClient calculatorClient,
+                         PlatformTransactionManager transactionManager,
+                         Executor databaseExecutor,
+                         MeterRegistry meterRegistry) {
         this.clientService = clientService;
         this.statementService = statementService;
         this.offerService = offerService;
         this.creditService = creditService;
+        this.calculatorClient = calculatorClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.databaseExecutor = databaseExecutor;
+        this.meterRegistry = meterRegistry;
+        this.clientInsertTimer = stageTimer(meterRegistry, "client_insert");
+        this.statementInsertTimer = stageTimer(meterRegistry, "statement_insert");
+        this.offersCallTimer = stageTimer(meterRegistry, "offers_call");
+        this.scoringCallTimer = stageTimer(meterRegistry, "scoring_call");
+        this.creditInsertTimer = stageTimer(meterRegistry, "credit_insert");
     }
 
-    @Transactional
+    /**
+     * Stores the client and the statement on the database executor while the offers are requested, so the request takes
+     * the longer of the two instead of their sum. The inserts commit in their own short transaction, which never spans
+     * the calculator call; if the offers fail, the stored statement and client are deleted again.
+     */
     public List<LoanOfferDto> processLoanApplication(LoanStatementRequestDto requestDto) throws ServiceUnavailableException {
-        Client client = clientService.createClient(requestDto);
-        Statement statement = statementService.createStatement(client);
+        CompletableFuture<Statement> statement = CompletableFuture.supplyAsync(() -> saveStatement(requestDto), databaseExecutor);
+        CompletableFuture<List<LoanOfferDto>> offers;
+        try {
+            offers = CompletableFuture.completedFuture(timed(offersCallTimer, () -> offerService.calculateOffers(requestDto)));
+        } catch (ServiceUnavailableException | RuntimeException e) {
+            offers = CompletableFuture.failedFuture(e);
+        }
 
-        List<LoanOfferDto> offers = offerService.calculateOffers(requestDto);
-        offers.forEach(offer -> offer.setStatementId(statement.getStatementId()));
-        offers.sort(Comparator.comparing(LoanOfferDto::getRate));
+        try {
+            return assignStatement(offers, statement).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ServiceUnavailableException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
 
-        return offers;
+    /**
+     * Non-blocking variant of {@link #processLoanApplication}: the offers are requested without a waiting thread
+     * while the client and the statement are stored on the database executor.
+     */
+    public CompletableFuture<List<LoanOfferDto>> processLoanApplicationAsync(LoanStatementRequestDto requestDto) {
+        CompletableFuture<Statement> statement = CompletableFuture.supplyAsync(() -> saveStatement(requestDto), databaseExecutor);
+        return assignStatement(timedAsync(offersCallTimer, () -> calculatorClient.calculateOffers(requestDto)), statement);
     }
 
     @Transactional
@@ -55,8 +135,100 @@ public class LoanProcessingFacade {
     public void processCreditCalculation(FinishRegistrationRequestDto requestDto, UUID statementId) throws ServiceUnavailableException {
         Statement statement = statementService.getStatementById(statementId);
         ScoringDataDto scoringData = buildScoringData(requestDto, statement);
-        Credit credit = creditService.createCredit(scoringData, statement);
-        statementService.updateStatementWithCredit(statement, credit);
+        CreditDecision decision = timed(scoringCallTimer, () -> creditService.calculateCredit(scoringData));
+        saveCredit(decision, statement);
+    }
+
+    /**
+     * Non-blocking variant of {@link #processCreditCalculation}: the scoring data is read in a short read-only
+     * transaction, the calculator is called outside of any transaction and the credit is stored in a second one.
+     */
+    public CompletableFuture<Void> processCreditCalculationAsync(FinishRegistrationRequestDto requestDto, UUID statementId) {
+        ScoringDataDto scoringData = readOnlyTransactionTemplate.execute(status ->
+                buildScoringData(requestDto, statementService.getStatementById(statementId)));
+
+        return timedAsync(scoringCallTimer, () -> calculatorClient.calculateCredit(scoringData))
+                .thenAcceptAsync(decision -> transactionTemplate.executeWithoutResult(status ->
+                        saveCredit(decision, statementService.getStatementById(statementId))), databaseExecutor);
+    }
+
+    public List<PaymentScheduleElementDto> getPaymentSchedule(UUID creditId) {
+        return creditService.getPaymentSchedule(creditId);
+    }
+
+    private Statement saveStatement(LoanStatementRequestDto requestDto) {
+        return transactionTemplate.execute(status -> {
+            Client client = clientInsertTimer.record(() -> clientService.createClient(requestDto));
+            return statementInsertTimer.record(() -> statementService.createStatement(client));
+        });
+    }
+
+    private void saveCredit(CreditDecision decision, Statement statement) {
+        creditInsertTimer.record(() -> creditService.saveCredit(decision, statement))
+                .ifPresent(credit -> statementService.updateStatementWithCredit(statement, credit));
+    }
+
+    private <T> T timed(Timer timer, CalculatorCallGuard.Call<T> call) throws ServiceUnavailableException {
+        long start = System.nanoTime();
+        try {
+            return call.execute();
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Takes the call rather than its future, so the time spent before the client hands the future back (serializing
+     * the request, waiting for a connection) is measured as well.
+     */
+    private <T> CompletableFuture<T> timedAsync(Timer timer, Supplier<CompletableFuture<T>> call) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            sample.stop(timer);
+            throw e;
+        }
+        return future.whenComplete((result, error) -> sample.stop(timer));
+    }
+
+    private static Timer stageTimer(MeterRegistry registry, String stage) {
+        return Timer.builder("deal.stage")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * Completes with the offers bound to the stored statement, or with the failure of either branch. Failed offers
+     * complete only after the statement of the request, once stored, has been deleted.
+     */
+    private CompletableFuture<List<LoanOfferDto>> assignStatement(CompletableFuture<List<LoanOfferDto>> offers,
+                                                                 CompletableFuture<Statement> statement) {
+        return offers
+                .exceptionallyCompose(error -> statement.handleAsync((saved, saveError) -> {
+                    if (saved != null) {
+                        deleteStatement(saved);
+                    }
+                    throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+                }, databaseExecutor))
+                .thenCombine(statement, (result, saved) -> {
+                    result.forEach(offer -> offer.setStatementId(saved.getStatementId()));
+                    return result;
+                });
+    }
+
+    private void deleteStatement(Statement statement) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                statementService.deleteStatement(statement);
+                clientService.deleteClient(statement.getClientId());
+            });
+            log.info("Заявка {} удалена: расчет предложений не выполнен", statement.getStatementId());
+        } catch (RuntimeException e) {
+            log.error("Не удалось удалить заявку {} после ошибки расчета предложений", statement.getStatementId(), e);
+        }
     }
 
     ScoringDataDto buildScoringData(FinishRegistrationRequestDto requestDto, Statement statement) {
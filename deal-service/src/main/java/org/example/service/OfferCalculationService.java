@@ -7,5 +7,8 @@ import javax.naming.ServiceUnavailableException;
 import java.util.List;
 
 public interface OfferCalculationService {
+    /**
+     * Offers of the calculator in the order it returns them, ascending by rate.
+     */
     List<LoanOfferDto> calculateOffers(LoanStatementRequestDto requestDto) throws ServiceUnavailableException;
 }
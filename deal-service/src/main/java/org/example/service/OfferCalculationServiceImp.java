@@ -7,6 +7,7 @@ import org.example.model.dto.LoanStatementRequestDto;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
@@ -18,38 +19,61 @@ import java.util.List;
 public class OfferCalculationServiceImp implements OfferCalculationService {
     private final RestTemplate restTemplate;
     private final PreScoringServiceProperties properties;
+    private final CalculatorCallGuard callGuard;
+    private final OfferFallbackCache offerFallback;
 
     public OfferCalculationServiceImp(RestTemplate restTemplate,
-                                       PreScoringServiceProperties properties) {
+                                       PreScoringServiceProperties properties,
+                                       CalculatorCallGuard callGuard,
+                                       OfferFallbackCache offerFallback) {
         this.restTemplate = restTemplate;
         this.properties = properties;
+        this.callGuard = callGuard;
+        this.offerFallback = offerFallback;
     }
 
+    /**
+     * Falls back to the last offers for the same amount and term when the calculator is unavailable or rejected by
+     * {@link CalculatorCallGuard}; a 4xx answer is not a fallback case.
+     */
     @Override
     public List<LoanOfferDto> calculateOffers(LoanStatementRequestDto requestDto) throws ServiceUnavailableException {
-        try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
 
-            HttpEntity<LoanStatementRequestDto> requestEntity = new HttpEntity<>(requestDto, headers);
+        HttpEntity<LoanStatementRequestDto> requestEntity = new HttpEntity<>(requestDto, headers);
 
-            ResponseEntity<List<LoanOfferDto>> response = restTemplate.exchange(
+        ResponseEntity<List<LoanOfferDto>> response;
+        try {
+            response = callGuard.call(() -> restTemplate.exchange(
                     properties.getUrl(),
                     HttpMethod.POST,
                     requestEntity,
                     new ParameterizedTypeReference<>() {}
-            );
-
-            if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
-                throw new ServiceUnavailableException("Сервис калькулятора вернул ошибку");
-            }
-
-            return response.getBody();
+            ));
+        } catch (HttpClientErrorException e) {
+            log.error("Калькулятор отклонил запрос предложений", e);
+            throw new ServiceUnavailableException("Сервис калькулятора вернул ошибку");
         } catch (RestClientException e) {
             log.error("Ошибка при запросе предложений", e);
-            throw new ServiceUnavailableException("Сервис калькулятора недоступен");
+            return fallback(requestDto, new ServiceUnavailableException("Сервис калькулятора недоступен"));
         } catch (ServiceUnavailableException e) {
-            throw new RuntimeException(e);
+            log.warn("Запрос предложений отклонен: {}", e.getMessage());
+            return fallback(requestDto, e);
         }
+
+        if (!response.getStatusCode().is2xxSuccessful() || response.getBody() == null) {
+            throw new ServiceUnavailableException("Сервис калькулятора вернул ошибку");
+        }
+
+        offerFallback.put(requestDto, response.getBody());
+        return response.getBody();
+    }
+
+    private List<LoanOfferDto> fallback(LoanStatementRequestDto requestDto, ServiceUnavailableException error)
+            throws ServiceUnavailableException {
+        List<LoanOfferDto> offers = offerFallback.get(requestDto).orElseThrow(() -> error);
+        log.info("Предложения выданы из кэша: сумма {}, срок {}", requestDto.getAmount(), requestDto.getTerm());
+        return offers;
     }
 }
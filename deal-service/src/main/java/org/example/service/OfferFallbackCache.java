@@ -0,0 +1,74 @@
+package org.example.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.config.CalculatorResilienceProperties;
+import org.example.model.dto.LoanOfferDto;
+import org.example.model.dto.LoanStatementRequestDto;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Last offers the calculator returned for each amount and term, served while it is unavailable. Pre-scoring offers
+ * depend on nothing else; the final scoring still checks the applicant. Offers are copied in and out, so callers may
+ * bind them to a statement.
+ */
+@Component
+public class OfferFallbackCache implements MeterBinder {
+    private final Cache<Key, List<LoanOfferDto>> offers;
+    private final LongAdder served = new LongAdder();
+
+    public OfferFallbackCache(CalculatorResilienceProperties properties) {
+        this.offers = Caffeine.newBuilder()
+                .maximumSize(properties.getOfferFallbackSize())
+                .expireAfterWrite(properties.getOfferFallbackTtl())
+                .recordStats()
+                .build();
+    }
+
+    public void put(LoanStatementRequestDto requestDto, List<LoanOfferDto> calculated) {
+        offers.put(Key.of(requestDto), copy(calculated));
+    }
+
+    public Optional<List<LoanOfferDto>> get(LoanStatementRequestDto requestDto) {
+        List<LoanOfferDto> cached = offers.getIfPresent(Key.of(requestDto));
+        if (cached == null) {
+            return Optional.empty();
+        }
+        served.increment();
+        return Optional.of(copy(cached));
+    }
+
+    public long getServed() {
+        return served.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, offers, "offerFallback");
+        FunctionCounter.builder("calculator.offers.fallback", served, LongAdder::sum)
+                .description("Offers served from the cache while the calculator was unavailable")
+                .register(registry);
+    }
+
+    private static List<LoanOfferDto> copy(List<LoanOfferDto> offers) {
+        return offers.stream()
+                .map(offer -> offer.toBuilder().statementId(null).build())
+                .toList();
+    }
+
+    private record Key(BigDecimal amount, Integer term) {
+        static Key of(LoanStatementRequestDto requestDto) {
+            BigDecimal amount = requestDto.getAmount();
+            return new Key(amount != null ? amount.stripTrailingZeros() : null, requestDto.getTerm());
+        }
+    }
+}
@@ -11,9 +11,7 @@ import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import javax.naming.ServiceUnavailableException;
-import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -45,9 +43,8 @@ public class OfferServiceImp implements OfferService{
                 throw new ServiceUnavailableException("Сервис калькулятора вернул ошибку");
             }
 
-            return response.getBody().stream()
-                    .sorted(Comparator.comparing(LoanOfferDto::getRate))
-                    .collect(Collectors.toList());
+            // the calculator returns the offers in ascending rate order
+            return response.getBody();
         } catch (RestClientException e) {
             log.error("Ошибка при запросе предложений", e);
             throw new ServiceUnavailableException("Сервис калькулятора недоступен");
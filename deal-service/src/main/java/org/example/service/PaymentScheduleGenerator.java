@@ -0,0 +1,123 @@
+package org.example.service;
+
+import org.example.model.PaymentSchedule;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Regenerates the annuity payment schedule of the calculator service from the credit parameters.
+ * <p>
+ * Version 1 reproduces the reference calculation of the calculator: the monthly payment is
+ * {@code psk * r / (1 - 1 / (1 + r)^term)} with {@code r = rate / 1200} and every division in
+ * {@link MathContext#DECIMAL128}, the remaining debt is carried exactly and every amount is rounded
+ * {@link RoundingMode#HALF_UP} to kopecks. Carrying the debt exactly adds about 34 digits per month, so the loop
+ * runs with {@link #WORKING_PRECISION} digits instead and falls back to the exact loop only if an amount lands so
+ * close to half a kopeck, or the last payment so close to the remaining debt, that the bounded error could change
+ * the result.
+ * <p>
+ * A schedule stored as version 1 must regenerate to the same rows forever, so any change to the rounding
+ * belongs in a new version.
+ */
+final class PaymentScheduleGenerator {
+    static final int VERSION = 1;
+
+    private static final MathContext WORKING_PRECISION = new MathContext(64, RoundingMode.HALF_EVEN);
+    /**
+     * Far above the error of {@link #WORKING_PRECISION} over any realistic term, far below a kopeck.
+     */
+    private static final BigDecimal GUARD = new BigDecimal("1E-40");
+    private static final BigDecimal HALF = new BigDecimal("0.5");
+    private static final BigDecimal MONTHS_PERCENT = BigDecimal.valueOf(12 * 100);
+
+    private PaymentScheduleGenerator() {
+    }
+
+    static List<PaymentSchedule> generate(BigDecimal psk, int term, BigDecimal rate, LocalDate start) {
+        List<PaymentSchedule> schedule = generateBounded(psk, term, rate, start);
+        return schedule != null ? schedule : generateExact(psk, term, rate, start);
+    }
+
+    /**
+     * The reference loop, slow for long terms.
+     */
+    static List<PaymentSchedule> generateExact(BigDecimal psk, int term, BigDecimal rate, LocalDate start) {
+        BigDecimal monthlyRate = rate.divide(MONTHS_PERCENT, MathContext.DECIMAL128);
+        BigDecimal monthlyPayment = monthlyPayment(psk, term, monthlyRate);
+        BigDecimal remainingDebt = psk;
+        List<PaymentSchedule> schedule = new ArrayList<>(term);
+
+        for (int month = 1; month <= term; month++) {
+            BigDecimal interestPart = remainingDebt.multiply(monthlyRate);
+            BigDecimal debtPart = monthlyPayment.subtract(interestPart);
+
+            if (remainingDebt.compareTo(debtPart) < 0) {
+                debtPart = remainingDebt;
+                monthlyPayment = interestPart.add(debtPart);
+            }
+            remainingDebt = remainingDebt.subtract(debtPart);
+
+            schedule.add(row(month, start, monthlyPayment, interestPart, debtPart, remainingDebt));
+        }
+        return schedule;
+    }
+
+    /**
+     * @return the schedule, or {@code null} if the bounded precision cannot decide a rounding
+     */
+    private static List<PaymentSchedule> generateBounded(BigDecimal psk, int term, BigDecimal rate, LocalDate start) {
+        BigDecimal monthlyRate = rate.divide(MONTHS_PERCENT, MathContext.DECIMAL128);
+        BigDecimal monthlyPayment = monthlyPayment(psk, term, monthlyRate);
+        BigDecimal remainingDebt = psk;
+        List<PaymentSchedule> schedule = new ArrayList<>(term);
+
+        for (int month = 1; month <= term; month++) {
+            BigDecimal interestPart = remainingDebt.multiply(monthlyRate, WORKING_PRECISION);
+            BigDecimal debtPart = monthlyPayment.subtract(interestPart, WORKING_PRECISION);
+
+            BigDecimal overpayment = debtPart.subtract(remainingDebt, WORKING_PRECISION);
+            if (overpayment.abs().compareTo(GUARD) < 0) {
+                return null;
+            }
+            if (overpayment.signum() > 0) {
+                debtPart = remainingDebt;
+                monthlyPayment = interestPart.add(debtPart, WORKING_PRECISION);
+            }
+            remainingDebt = remainingDebt.subtract(debtPart, WORKING_PRECISION);
+
+            if (nearHalfKopeck(monthlyPayment) || nearHalfKopeck(interestPart)
+                    || nearHalfKopeck(debtPart) || nearHalfKopeck(remainingDebt)) {
+                return null;
+            }
+            schedule.add(row(month, start, monthlyPayment, interestPart, debtPart, remainingDebt));
+        }
+        return schedule;
+    }
+
+    private static BigDecimal monthlyPayment(BigDecimal psk, int term, BigDecimal monthlyRate) {
+        BigDecimal denominatorFactor = BigDecimal.ONE.add(monthlyRate).pow(term);
+        denominatorFactor = BigDecimal.ONE.divide(denominatorFactor, MathContext.DECIMAL128);
+        BigDecimal denominator = BigDecimal.ONE.subtract(denominatorFactor);
+        return psk.multiply(monthlyRate).divide(denominator, MathContext.DECIMAL128);
+    }
+
+    private static boolean nearHalfKopeck(BigDecimal amount) {
+        BigDecimal fraction = amount.movePointRight(2).remainder(BigDecimal.ONE).abs();
+        return fraction.subtract(HALF).abs().movePointLeft(2).compareTo(GUARD) < 0;
+    }
+
+    private static PaymentSchedule row(int month, LocalDate start, BigDecimal monthlyPayment,
+                                       BigDecimal interestPart, BigDecimal debtPart, BigDecimal remainingDebt) {
+        return new PaymentSchedule(
+                month,
+                start.plusMonths(month),
+                monthlyPayment.setScale(2, RoundingMode.HALF_UP),
+                interestPart.setScale(2, RoundingMode.HALF_UP),
+                debtPart.setScale(2, RoundingMode.HALF_UP),
+                remainingDebt.max(BigDecimal.ZERO).setScale(2, RoundingMode.HALF_UP));
+    }
+}
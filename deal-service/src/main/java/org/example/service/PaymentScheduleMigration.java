@@ -0,0 +1,87 @@
+package org.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.PaymentScheduleMigrationProperties;
+import org.example.model.converter.PaymentScheduleConverter;
+import org.example.repository.CreditRepository;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Rewrites payment schedules stored as an array of rows into the columnar format of
+ * {@link PaymentScheduleConverter}. Enabled with {@code payment-schedule.migration.enabled=true}; rows already
+ * in the columnar format are skipped, so the migration can be interrupted and started again.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "payment-schedule.migration.enabled", havingValue = "true")
+public class PaymentScheduleMigration implements ApplicationRunner {
+    private static final String SELECT_PAGE =
+            "select credit_id, cast(payment_schedule as varchar) as payment_schedule from credit " +
+            "where credit_id > ? order by credit_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CreditRepository creditRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final PaymentScheduleConverter converter = new PaymentScheduleConverter();
+
+    public PaymentScheduleMigration(DataSource dataSource,
+                                    CreditRepository creditRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    PaymentScheduleMigrationProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setMaxRows(properties.getBatchSize());
+        this.creditRepository = creditRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        migrate();
+    }
+
+    /**
+     * @return number of rewritten credits
+     */
+    public int migrate() {
+        log.info("Начало миграции графиков платежей в колоночный формат");
+        // the nil UUID sorts first in the unsigned byte order databases use for uuid columns
+        UUID lastId = new UUID(0, 0);
+        int migrated = 0;
+        while (true) {
+            List<Map<String, Object>> page = jdbcTemplate.queryForList(SELECT_PAGE, lastId);
+            if (page.isEmpty()) {
+                break;
+            }
+            lastId = (UUID) page.get(page.size() - 1).get("credit_id");
+
+            List<Map<String, Object>> legacy = new ArrayList<>();
+            for (Map<String, Object> row : page) {
+                String schedule = (String) row.get("payment_schedule");
+                if (schedule != null && !PaymentScheduleConverter.isCurrentFormat(schedule)) {
+                    legacy.add(row);
+                }
+            }
+            if (!legacy.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> legacy.forEach(row ->
+                        creditRepository.updatePaymentSchedule((UUID) row.get("credit_id"),
+                                converter.convertToEntityAttribute((String) row.get("payment_schedule")))));
+                migrated += legacy.size();
+                log.info("Графиков платежей переведено в колоночный формат: {}", migrated);
+            }
+        }
+        log.info("Миграция графиков платежей завершена, переведено: {}", migrated);
+        return migrated;
+    }
+}
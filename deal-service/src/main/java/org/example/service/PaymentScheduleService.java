@@ -0,0 +1,20 @@
+package org.example.service;
+
+import org.example.model.PaymentSchedule;
+import org.example.model.entity.Credit;
+
+import java.util.List;
+
+public interface PaymentScheduleService {
+    /**
+     * In {@code DERIVED} mode replaces the rows of a new credit with the schedule version and start date,
+     * provided the stored parameters regenerate exactly the same rows. Otherwise the rows are kept.
+     */
+    void prepareForStorage(Credit credit);
+
+    /**
+     * Stored rows of the credit or the regenerated rows of a derived schedule. The returned list is shared
+     * and must not be modified.
+     */
+    List<PaymentSchedule> getPaymentSchedule(Credit credit);
+}
@@ -0,0 +1,101 @@
+package org.example.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.PaymentScheduleProperties;
+import org.example.model.PaymentSchedule;
+import org.example.model.converter.PaymentScheduleConverter;
+import org.example.model.entity.Credit;
+import org.example.model.enumerated.PaymentScheduleMode;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@Slf4j
+public class PaymentScheduleServiceImp implements PaymentScheduleService {
+    /**
+     * Scale of the {@code psk} and {@code rate} columns: a derived schedule is regenerated from the stored values,
+     * so finer inputs keep their rows.
+     */
+    private static final int PERSISTED_SCALE = 2;
+
+    private final PaymentScheduleProperties properties;
+    private final Cache<ScheduleKey, List<PaymentSchedule>> derivedSchedules;
+
+    public PaymentScheduleServiceImp(PaymentScheduleProperties properties) {
+        this.properties = properties;
+        this.derivedSchedules = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .build();
+    }
+
+    @Override
+    public void prepareForStorage(Credit credit) {
+        List<PaymentSchedule> schedule = credit.getPaymentSchedule();
+        if (properties.getMode() != PaymentScheduleMode.DERIVED || schedule == null || schedule.isEmpty()) {
+            return;
+        }
+        LocalDate start = PaymentScheduleConverter.findStart(schedule);
+        if (start == null || !isPersistedExactly(credit.getPsk()) || !isPersistedExactly(credit.getRate())
+                || credit.getTerm() == null || credit.getTerm() != schedule.size()) {
+            log.warn("График платежей кредита {} нельзя восстановить по параметрам, сохраняется полностью",
+                    credit.getCreditId());
+            return;
+        }
+
+        ScheduleKey key = new ScheduleKey(PaymentScheduleGenerator.VERSION,
+                credit.getPsk(), credit.getTerm(), credit.getRate(), start);
+        List<PaymentSchedule> derived = generate(key);
+        if (!derived.equals(schedule)) {
+            log.warn("График платежей кредита {} не совпадает с расчетным, сохраняется полностью",
+                    credit.getCreditId());
+            return;
+        }
+
+        derivedSchedules.put(key, derived);
+        credit.setPaymentSchedule(null);
+        credit.setPaymentScheduleVersion(PaymentScheduleGenerator.VERSION);
+        credit.setPaymentScheduleStart(start);
+    }
+
+    @Override
+    public List<PaymentSchedule> getPaymentSchedule(Credit credit) {
+        if (credit.getPaymentScheduleVersion() == null) {
+            return credit.getPaymentSchedule();
+        }
+        if (credit.getPaymentScheduleVersion() != PaymentScheduleGenerator.VERSION) {
+            throw new IllegalStateException("Неизвестная версия графика платежей: " + credit.getPaymentScheduleVersion());
+        }
+        ScheduleKey key = new ScheduleKey(credit.getPaymentScheduleVersion(),
+                credit.getPsk(), credit.getTerm(), credit.getRate(), credit.getPaymentScheduleStart());
+        return derivedSchedules.get(key, this::generate);
+    }
+
+    long getCachedScheduleCount() {
+        return derivedSchedules.estimatedSize();
+    }
+
+    private List<PaymentSchedule> generate(ScheduleKey key) {
+        log.debug("Генерация графика платежей: {}", key);
+        return List.copyOf(PaymentScheduleGenerator.generate(key.psk(), key.term(), key.rate(), key.start()));
+    }
+
+    private static boolean isPersistedExactly(BigDecimal value) {
+        return value != null && value.stripTrailingZeros().scale() <= PERSISTED_SCALE;
+    }
+
+    /**
+     * Amounts are compared by value, so {@code 100000} and {@code 100000.00} read back from the database share
+     * an entry; the generated rows do not depend on the scale of the inputs.
+     */
+    private record ScheduleKey(int version, BigDecimal psk, int term, BigDecimal rate, LocalDate start) {
+        ScheduleKey {
+            psk = psk.stripTrailingZeros();
+            rate = rate.stripTrailingZeros();
+        }
+    }
+}
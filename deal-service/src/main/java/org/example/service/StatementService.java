@@ -13,8 +13,10 @@ import java.util.UUID;
 
 public interface StatementService {
     Statement createStatement(Client client);
+    void deleteStatement(Statement statement);
     void applyOfferToStatement(UUID statementId, LoanOfferDto offerDto);
     Statement getStatementById(UUID statementId);
     void updateStatementWithCredit(Statement statement, Credit credit);
+    void denyStatement(Statement statement, String reason);
     List<StatusHistory> createInitialStatusHistory();
 }
@@ -41,6 +41,12 @@ public class StatementServiceImp implements StatementService {
         return statementRepository.save(statement);
     }
 
+    @Override
+    @Transactional
+    public void deleteStatement(Statement statement) {
+        statementRepository.deleteById(statement.getStatementId());
+    }
+
     @Override
     @Transactional
     public void applyOfferToStatement(UUID statementId, LoanOfferDto offerDto) {
@@ -72,6 +78,15 @@ public class StatementServiceImp implements StatementService {
         statementRepository.save(statement);
     }
 
+    @Override
+    @Transactional
+    public void denyStatement(Statement statement, String reason) {
+        statement.setStatus(ApplicationStatus.CC_DENIED);
+        statement.getStatusHistory().add(createDeniedStatusHistory(reason));
+        statementRepository.save(statement);
+        log.info("Заявка {} отклонена калькулятором. Причина: {}", statement.getStatementId(), reason);
+    }
+
     public List<StatusHistory> createInitialStatusHistory() {
         return List.of(
                 StatusHistory.builder()
@@ -98,6 +113,15 @@ public class StatementServiceImp implements StatementService {
                 .build();
     }
 
+    private StatusHistory createDeniedStatusHistory(String reason) {
+        return StatusHistory.builder()
+                .status(ApplicationStatus.CC_DENIED)
+                .time(LocalDate.now())
+                .changeType(ChangeType.AUTOMATIC)
+                .reason(reason)
+                .build();
+    }
+
     private AppliedOffer convertToAppliedOffer(LoanOfferDto dto) {
         return AppliedOffer.builder()
                 .statementId(UUID.randomUUID())
@@ -0,0 +1,45 @@
+package org.example.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+class AppConfigTest {
+    private final AppConfig appConfig = new AppConfig();
+
+    @Test
+    void restTemplate_ShouldUsePooledClientFromProperties() throws Exception {
+        HttpClientProperties properties = new HttpClientProperties();
+        properties.setMaxConnections(20);
+        properties.setMaxConnectionsPerRoute(8);
+
+        try (PoolingHttpClientConnectionManager connectionManager = appConfig.httpClientConnectionManager(properties)) {
+            RestTemplate restTemplate = appConfig.restTemplate(appConfig.httpClient(connectionManager, properties),
+                    ObservationRegistry.NOOP);
+
+            assertInstanceOf(HttpComponentsClientHttpRequestFactory.class, restTemplate.getRequestFactory());
+            assertEquals(20, connectionManager.getMaxTotal());
+            assertEquals(8, connectionManager.getDefaultMaxPerRoute());
+        }
+    }
+
+    @Test
+    void httpClientPoolMetrics_ShouldRegisterPoolGauges() {
+        HttpClientProperties properties = new HttpClientProperties();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        try (PoolingHttpClientConnectionManager connectionManager = appConfig.httpClientConnectionManager(properties)) {
+            appConfig.httpClientPoolMetrics(connectionManager).bindTo(registry);
+
+            assertEquals(properties.getMaxConnections(),
+                    registry.get("httpcomponents.httpclient.pool.total.max").tag("httpclient", "calculator").gauge().value());
+            assertEquals(0, registry.get("httpcomponents.httpclient.pool.total.pending").gauge().value());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.example.controller;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.example.model.dto.LoanOfferDto;
+import org.example.service.OfferCalculationService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@code POST /deal/statement} stores the client and the statement with one INSERT each and no SELECT before them.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:${random.uuid};MODE=PostgreSQL;INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class CreateStatementQueryCountTest {
+    private static final String REQUEST = """
+            {"amount":200000,"term":12,"firstName":"Ivan","lastName":"Ivanov","middleName":"Ivanovich",
+             "email":"ivanov@mail.ru","birthdate":"1990-01-01","passportSeries":"1234","passportNumber":"123456"}""";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private OfferCalculationService offerService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        when(offerService.calculateOffers(any())).thenReturn(List.of(LoanOfferDto.builder()
+                .requestedAmount(new BigDecimal("200000"))
+                .totalAmount(new BigDecimal("236000"))
+                .term(12)
+                .monthlyPayment(new BigDecimal("21677.51"))
+                .rate(new BigDecimal("18"))
+                .isInsuranceEnabled(true)
+                .isSalaryClient(true)
+                .build()));
+    }
+
+    @Test
+    void createStatement_ShouldInsertClientAndStatementWithoutSelect() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/deal/statement"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(REQUEST))
+                .build();
+
+        HttpResponse<String> response = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode(), response.body());
+        assertEquals(2, statistics.getEntityInsertCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+}
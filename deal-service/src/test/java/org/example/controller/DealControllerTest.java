@@ -1,9 +1,11 @@
 package org.example.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.config.CalculatorClientProperties;
 import org.example.model.dto.FinishRegistrationRequestDto;
 import org.example.model.dto.LoanOfferDto;
 import org.example.model.dto.LoanStatementRequestDto;
+import org.example.model.dto.PaymentScheduleElementDto;
 import org.example.model.enumerated.EmploymentStatusEnum;
 import org.example.model.enumerated.Gender;
 import org.example.model.enumerated.MaritalStatus;
@@ -16,6 +18,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import javax.naming.ServiceUnavailableException;
@@ -23,9 +26,12 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -33,11 +39,14 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 class DealControllerTest {
 
     private MockMvc mockMvc;
-    private ObjectMapper objectMapper = new ObjectMapper();
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
 
     @Mock
     private LoanProcessingFacade loanProcessingFacade;
 
+    @Mock
+    private CalculatorClientProperties calculatorClientProperties;
+
     @InjectMocks
     private DealController dealController;
 
@@ -75,6 +84,40 @@ class DealControllerTest {
         );
     }
 
+    @Test
+    void createStatement_ValidRequest_ShouldReturnOffers() throws Exception {
+        when(loanProcessingFacade.processLoanApplication(any(LoanStatementRequestDto.class)))
+                .thenReturn(List.of(validLoanOffer));
+
+        MvcResult result = mockMvc.perform(post("/deal/statement")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validStatementRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].term").value(12));
+        verify(loanProcessingFacade, never()).processLoanApplicationAsync(any());
+    }
+
+    @Test
+    void createStatement_AsyncClient_ShouldUseAsyncFlow() throws Exception {
+        when(calculatorClientProperties.isAsync()).thenReturn(true);
+        when(loanProcessingFacade.processLoanApplicationAsync(any(LoanStatementRequestDto.class)))
+                .thenReturn(CompletableFuture.completedFuture(List.of(validLoanOffer)));
+
+        MvcResult result = mockMvc.perform(post("/deal/statement")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(validStatementRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].term").value(12));
+        verify(loanProcessingFacade, never()).processLoanApplication(any());
+    }
 
     @Test
     void createStatement_InvalidRequest_ShouldReturn400() throws Exception {
@@ -105,4 +148,18 @@ class DealControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
-}
\ No newline at end of file
+    @Test
+    void getPaymentSchedule_ShouldReturnRows() throws Exception {
+        UUID creditId = UUID.randomUUID();
+        when(loanProcessingFacade.getPaymentSchedule(creditId)).thenReturn(List.of(
+                new PaymentScheduleElementDto(1, LocalDate.of(2024, 2, 29), new BigDecimal("10892.30"),
+                        new BigDecimal("1826.88"), new BigDecimal("9065.42"), new BigDecimal("109434.58"))));
+
+        mockMvc.perform(get("/deal/credit/{creditId}/schedule", creditId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].number").value(1))
+                .andExpect(jsonPath("$[0].totalPayment").value(10892.30));
+
+        verify(loanProcessingFacade).getPaymentSchedule(creditId);
+    }
+}
@@ -0,0 +1,192 @@
+package org.example.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@code POST /deal/statement} and {@code POST /deal/calculate/{statementId}} against a stub calculator: the caller's
+ * trace continues in the calculator calls and in the repository calls, including the ones made on the database
+ * executor. That the calculator nests its {@code calculator.scoring} and {@code calculator.schedule} spans under the
+ * incoming {@code traceparent} is checked on its side, in {@code ScoringControllerTest}.
+ */
+@AutoConfigureObservability(metrics = false)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:${random.uuid};MODE=PostgreSQL;INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+class DealTraceTest {
+    private static final String TRACE_ID = "0af7651916cd43dd8448eb211c80319c";
+    private static final String SCORING_TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String REQUEST = """
+            {"amount":200000,"term":12,"firstName":"Ivan","lastName":"Ivanov","middleName":"Ivanovich",
+             "email":"ivanov@mail.ru","birthdate":"1990-01-01","passportSeries":"1234","passportNumber":"123456"}""";
+    private static final String OFFERS = """
+            [{"requestedAmount":200000,"totalAmount":236000,"term":12,"monthlyPayment":21677.51,"rate":18,
+              "isInsuranceEnabled":true,"isSalaryClient":true}]""";
+    private static final String FINISH_REGISTRATION = """
+            {"gender":"MALE","maritalStatus":"SINGLE","dependentAmount":0,"passportIssueDate":"2010-01-01",
+             "passportIssueBranch":"UFMS","accountNumber":"466466",
+             "employment":{"employmentStatus":"SELF_EMPLOYED","employerINN":"6666666","salary":100000,
+                           "position":"WORKER","workExperienceTotal":20,"getWorkExperienceCurrent":18}}""";
+    private static final String CREDIT = """
+            {"amount":200000,"term":1,"monthlyPayment":236000,"rate":18,"psk":236000,
+             "isInsuranceEnabled":true,"isSalaryClient":true,
+             "paymentSchedule":[{"number":1,"date":"2024-02-29","totalPayment":236000,"interestPayment":36000,
+                                 "debtPayment":200000,"remainingDebt":0}]}""";
+
+    private static final Queue<String> offerTraceparents = new ConcurrentLinkedQueue<>();
+    private static final Queue<String> scoringTraceparents = new ConcurrentLinkedQueue<>();
+    private static final HttpServer calculator = startCalculator();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void calculatorUrl(DynamicPropertyRegistry registry) {
+        registry.add("pre-scoring.service.url",
+                () -> "http://localhost:" + calculator.getAddress().getPort() + "/calculator/offers");
+        registry.add("scoring.service.url",
+                () -> "http://localhost:" + calculator.getAddress().getPort() + "/calculator/calc");
+    }
+
+    @BeforeEach
+    void setUp() {
+        offerTraceparents.clear();
+        scoringTraceparents.clear();
+        spanExporter.reset();
+    }
+
+    @AfterAll
+    static void stopCalculator() {
+        calculator.stop(0);
+    }
+
+    @Test
+    void createStatement_ShouldPropagateTraceToCalculatorAndRepositories() throws Exception {
+        HttpResponse<String> response = post("/deal/statement", REQUEST, TRACE_ID);
+        assertEquals(200, response.statusCode(), response.body());
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+
+        assertEquals(1, offerTraceparents.size());
+        assertTrue(offerTraceparents.peek().startsWith("00-" + TRACE_ID + "-"), offerTraceparents.peek());
+
+        List<String> names = spanExporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getTraceId().equals(TRACE_ID)).map(SpanData::getName).toList();
+        assertTrue(names.contains("http post"), names.toString());
+        assertTrue(names.contains("query"), names.toString());
+    }
+
+    @Test
+    void calculateCredit_ShouldPropagateTraceToScoringCall() throws Exception {
+        HttpResponse<String> offers = post("/deal/statement", REQUEST, null);
+        assertEquals(200, offers.statusCode(), offers.body());
+        JsonNode offer = objectMapper.readTree(offers.body()).get(0);
+        HttpResponse<String> selected = post("/deal/offer/select", offer.toString(), null);
+        assertEquals(200, selected.statusCode(), selected.body());
+
+        HttpResponse<String> response = post("/deal/calculate/" + offer.get("statementId").asText(),
+                FINISH_REGISTRATION, SCORING_TRACE_ID);
+        assertEquals(200, response.statusCode(), response.body());
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+
+        // the scoring call carries the caller's trace, its parent being the client span of that call
+        assertEquals(1, scoringTraceparents.size());
+        String[] traceparent = scoringTraceparents.peek().split("-");
+        assertEquals(SCORING_TRACE_ID, traceparent[1]);
+        SpanData client = spanExporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getSpanId().equals(traceparent[2]))
+                .findFirst().orElseThrow(() -> new AssertionError("no span " + traceparent[2]));
+        assertEquals(SCORING_TRACE_ID, client.getTraceId());
+        assertEquals(SpanKind.CLIENT, client.getKind());
+
+        List<String> names = spanExporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getTraceId().equals(SCORING_TRACE_ID)).map(SpanData::getName).toList();
+        assertTrue(names.contains("query"), names.toString());
+    }
+
+    private HttpResponse<String> post(String path, String body, String traceId) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (traceId != null) {
+            request.header("traceparent", "00-" + traceId + "-b7ad6b7169203331-01");
+        }
+        return HttpClient.newHttpClient().send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpServer startCalculator() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/calculator/offers", exchange -> respond(exchange, OFFERS, offerTraceparents));
+            server.createContext("/calculator/calc", exchange -> respond(exchange, CREDIT, scoringTraceparents));
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, String response, Queue<String> traceparents) throws IOException {
+        traceparents.add(String.valueOf(exchange.getRequestHeaders().getFirst("traceparent")));
+        exchange.getRequestBody().readAllBytes();
+        byte[] body = response.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+        exchange.close();
+    }
+
+    @TestConfiguration
+    static class SpanExporterConfig {
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+}
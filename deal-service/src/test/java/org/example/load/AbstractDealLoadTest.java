@@ -0,0 +1,138 @@
+package org.example.load;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Sends {@link #REQUESTS} concurrent {@code POST /deal/statement} requests to a service limited to
+ * {@link #TOMCAT_THREADS} Tomcat threads, while a stub calculator answers every offer request after
+ * {@link #CALCULATOR_LATENCY}. The connection pools are sized above {@link #REQUESTS}, so the peak number of
+ * calls in flight at the calculator shows how many requests the container serves at once. Tagged {@code load}, so
+ * they only run with {@code mvn test -Pload}.
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:${random.uuid};MODE=PostgreSQL;INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.hikari.maximum-pool-size=" + AbstractDealLoadTest.REQUESTS,
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "server.tomcat.threads.max=" + AbstractDealLoadTest.TOMCAT_THREADS,
+        "http-client.max-connections=" + AbstractDealLoadTest.REQUESTS,
+        "http-client.max-connections-per-route=" + AbstractDealLoadTest.REQUESTS,
+        "http-client.connection-request-timeout=30s",
+        "http-client.read-timeout=30s",
+        "calculator-client.resilience.max-concurrent-calls=" + AbstractDealLoadTest.REQUESTS
+})
+abstract class AbstractDealLoadTest {
+    static final int TOMCAT_THREADS = 8;
+    static final int REQUESTS = 64;
+    static final Duration CALCULATOR_LATENCY = Duration.ofMillis(300);
+
+    private static final String REQUEST = """
+            {"amount":200000,"term":12,"firstName":"Ivan","lastName":"Ivanov","middleName":"Ivanovich",
+             "email":"ivanov@mail.ru","birthdate":"1990-01-01","passportSeries":"1234","passportNumber":"123456"}""";
+    private static final String OFFERS = """
+            [{"requestedAmount":200000,"totalAmount":236000,"term":12,"monthlyPayment":21677.51,"rate":18,
+              "isInsuranceEnabled":true,"isSalaryClient":true}]""";
+
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    private static final AtomicInteger peakInFlight = new AtomicInteger();
+    private static final HttpServer calculator = startCalculator();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void calculatorUrl(DynamicPropertyRegistry registry) {
+        registry.add("pre-scoring.service.url",
+                () -> "http://localhost:" + calculator.getAddress().getPort() + "/calculator/offers");
+    }
+
+    @BeforeEach
+    void resetPeak() {
+        peakInFlight.set(0);
+    }
+
+    @Test
+    void createStatement_ConcurrentRequests_ShouldAllSucceed() {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/deal/statement"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(60))
+                .POST(HttpRequest.BodyPublishers.ofString(REQUEST))
+                .build();
+
+        long start = System.nanoTime();
+        List<CompletableFuture<HttpResponse<String>>> responses = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString()));
+        }
+        responses.forEach(response -> assertEquals(200, response.join().statusCode(), response.join().body()));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        log.info("{}: {} requests in {} ms, peak concurrent calculator calls {}",
+                getClass().getSimpleName(), REQUESTS, elapsed.toMillis(), peakInFlight.get());
+        assertPeakConcurrency(peakInFlight.get());
+    }
+
+    abstract void assertPeakConcurrency(int peak);
+
+    private static HttpServer startCalculator() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), REQUESTS);
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.createContext("/calculator/offers", exchange -> {
+                int current = inFlight.incrementAndGet();
+                peakInFlight.accumulateAndGet(current, Math::max);
+                try {
+                    exchange.getRequestBody().readAllBytes();
+                    Thread.sleep(CALCULATOR_LATENCY);
+                    byte[] body = OFFERS.getBytes(StandardCharsets.UTF_8);
+                    exchange.getResponseHeaders().add("Content-Type", "application/json");
+                    exchange.sendResponseHeaders(200, body.length);
+                    try (OutputStream out = exchange.getResponseBody()) {
+                        out.write(body);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    inFlight.decrementAndGet();
+                    exchange.close();
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
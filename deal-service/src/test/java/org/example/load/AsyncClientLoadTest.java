@@ -0,0 +1,17 @@
+package org.example.load;
+
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestPropertySource(properties = {
+        "spring.threads.virtual.enabled=false",
+        "calculator-client.async=true"
+})
+class AsyncClientLoadTest extends AbstractDealLoadTest {
+
+    @Override
+    void assertPeakConcurrency(int peak) {
+        assertTrue(peak > TOMCAT_THREADS, "peak " + peak);
+    }
+}
@@ -0,0 +1,38 @@
+package org.example.load;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The blocking path on platform threads with enough Tomcat threads and connections for every request, while each
+ * statement insert takes {@link SlowInsertTrigger#LATENCY}. The inserts must all run at once next to the calculator
+ * calls instead of queueing behind the eight threads of the application task executor.
+ */
+@TestPropertySource(properties = {
+        "spring.threads.virtual.enabled=false",
+        "server.tomcat.threads.max=" + AbstractDealLoadTest.REQUESTS
+})
+class BlockingStatementInsertLoadTest extends AbstractDealLoadTest {
+    private static final int APPLICATION_TASK_EXECUTOR_THREADS = 8;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void slowDownInserts() {
+        jdbcTemplate.execute("CREATE TRIGGER IF NOT EXISTS slow_statement_insert BEFORE INSERT ON statement "
+                + "FOR EACH ROW CALL '" + SlowInsertTrigger.class.getName() + "'");
+        SlowInsertTrigger.resetPeak();
+    }
+
+    @Override
+    void assertPeakConcurrency(int peak) {
+        int insertPeak = SlowInsertTrigger.resetPeak();
+        assertTrue(insertPeak > APPLICATION_TASK_EXECUTOR_THREADS, "insert peak " + insertPeak);
+        assertTrue(peak > APPLICATION_TASK_EXECUTOR_THREADS, "peak " + peak);
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.load;
+
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Requests on virtual threads against a Hikari pool of {@link #POOL_SIZE} connections, so the pool is the only
+ * limit. Holding a connection during the calculator call would cap the peak at the pool size.
+ */
+@TestPropertySource(properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=" + FixedConnectionPoolLoadTest.POOL_SIZE
+})
+class FixedConnectionPoolLoadTest extends AbstractDealLoadTest {
+    static final int POOL_SIZE = 4;
+
+    @Override
+    void assertPeakConcurrency(int peak) {
+        assertTrue(peak > POOL_SIZE, "peak " + peak);
+    }
+}
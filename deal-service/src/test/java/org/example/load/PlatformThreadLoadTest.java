@@ -0,0 +1,14 @@
+package org.example.load;
+
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadLoadTest extends AbstractDealLoadTest {
+
+    @Override
+    void assertPeakConcurrency(int peak) {
+        assertTrue(peak <= TOMCAT_THREADS, "peak " + peak);
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.load;
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * H2 row trigger that holds every insert for {@link #LATENCY} and records how many inserts were in flight at once.
+ */
+public class SlowInsertTrigger implements Trigger {
+    static final Duration LATENCY = Duration.ofMillis(300);
+
+    private static final AtomicInteger inFlight = new AtomicInteger();
+    private static final AtomicInteger peakInFlight = new AtomicInteger();
+
+    @Override
+    public void fire(Connection connection, Object[] oldRow, Object[] newRow) {
+        peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(LATENCY);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    static int resetPeak() {
+        return peakInFlight.getAndSet(0);
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.model.converter;
+
+import org.example.model.PaymentSchedule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentScheduleConverterTest {
+
+    private final PaymentScheduleConverter converter = new PaymentScheduleConverter();
+
+    static List<PaymentSchedule> createSchedule(LocalDate start, int term) {
+        List<PaymentSchedule> schedule = new ArrayList<>();
+        BigDecimal remaining = BigDecimal.valueOf(term * 10_000_00L, 2);
+        for (int month = 1; month <= term; month++) {
+            BigDecimal interest = remaining.movePointLeft(2).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal debt = BigDecimal.valueOf(10_000_00L, 2);
+            remaining = remaining.subtract(debt);
+            schedule.add(new PaymentSchedule(month, start.plusMonths(month), interest.add(debt), interest, debt, remaining));
+        }
+        return schedule;
+    }
+
+    @Test
+    void convert_ShouldRoundTripMonthlyScheduleInColumnarFormat() {
+        List<PaymentSchedule> schedule = createSchedule(LocalDate.of(2024, 1, 31), 360);
+
+        String json = converter.convertToDatabaseColumn(schedule);
+
+        assertTrue(json.startsWith("{\"format\":\"columnar-v1\",\"start\":\"2024-01-31\""));
+        assertFalse(json.contains("\"date\""));
+        assertFalse(json.contains("\"number\""));
+        assertEquals(schedule, converter.convertToEntityAttribute(json));
+        assertTrue(PaymentScheduleConverter.isCurrentFormat(json));
+    }
+
+    @Test
+    void convert_ShouldBeSeveralTimesSmallerThanRowFormat() {
+        List<PaymentSchedule> schedule = createSchedule(LocalDate.of(2024, 3, 15), 360);
+
+        String columnar = converter.convertToDatabaseColumn(schedule);
+
+        StringBuilder legacy = new StringBuilder("[");
+        for (PaymentSchedule row : schedule) {
+            legacy.append(String.format("{\"number\":%d,\"date\":\"%s\",\"totalPayment\":%s,\"interestPayment\":%s,\"debtPayment\":%s,\"remainingDebt\":%s},",
+                    row.getNumber(), row.getDate(), row.getTotalPayment(), row.getInterestPayment(), row.getDebtPayment(), row.getRemainingDebt()));
+        }
+        legacy.setCharAt(legacy.length() - 1, ']');
+        assertTrue(columnar.length() * 3 < legacy.length(), columnar.length() + " vs " + legacy.length());
+    }
+
+    @Test
+    void convert_ShouldKeepIrregularNumbersAndDates() {
+        List<PaymentSchedule> schedule = createSchedule(LocalDate.of(2024, 1, 10), 3);
+        schedule.get(1).setDate(LocalDate.of(2024, 3, 11));
+        schedule.get(2).setNumber(7);
+
+        String json = converter.convertToDatabaseColumn(schedule);
+
+        assertTrue(json.contains("\"number\":[1,2,7]"));
+        assertTrue(json.contains("\"date\":["));
+        assertFalse(json.contains("\"start\""));
+        assertEquals(schedule, converter.convertToEntityAttribute(json));
+    }
+
+    @Test
+    void convert_ShouldFallBackToRowsForAmountsFinerThanKopeck() {
+        List<PaymentSchedule> schedule = createSchedule(LocalDate.of(2024, 1, 10), 2);
+        schedule.get(0).setInterestPayment(new BigDecimal("1.005"));
+        schedule.get(1).setDebtPayment(null);
+
+        String json = converter.convertToDatabaseColumn(schedule);
+
+        assertTrue(json.startsWith("["));
+        assertFalse(PaymentScheduleConverter.isCurrentFormat(json));
+        assertEquals(schedule, converter.convertToEntityAttribute(json));
+    }
+
+    @Test
+    void convertToEntityAttribute_ShouldReadLegacyRows() {
+        String legacy = "[{\"number\":1,\"date\":[2024,2,29],\"totalPayment\":20581.90,\"interestPayment\":3166.67,"
+                + "\"debtPayment\":17415.23,\"remainingDebt\":182584.77},"
+                + "{\"number\":2,\"date\":\"2024-03-31\",\"totalPayment\":\"20581.90\",\"interestPayment\":2890.93,"
+                + "\"debtPayment\":17690.97,\"remainingDebt\":164893.80}]";
+
+        List<PaymentSchedule> schedule = converter.convertToEntityAttribute(legacy);
+
+        assertEquals(2, schedule.size());
+        assertEquals(LocalDate.of(2024, 2, 29), schedule.get(0).getDate());
+        assertEquals(new BigDecimal("20581.90"), schedule.get(0).getTotalPayment());
+        assertEquals(new BigDecimal("20581.90"), schedule.get(1).getTotalPayment());
+        assertEquals(new BigDecimal("164893.80"), schedule.get(1).getRemainingDebt());
+
+        String columnar = converter.convertToDatabaseColumn(schedule);
+        assertTrue(columnar.contains("\"start\":\"2024-01-31\""));
+        assertEquals(schedule, converter.convertToEntityAttribute(columnar));
+    }
+}
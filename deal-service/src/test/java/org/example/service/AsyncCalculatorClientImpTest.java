@@ -0,0 +1,138 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.config.CalculatorResilienceProperties;
+import org.example.config.HttpClientProperties;
+import org.example.config.PreScoringServiceProperties;
+import org.example.config.ScoringServiceProperties;
+import org.example.model.dto.CreditDto;
+import org.example.model.dto.LoanOfferDto;
+import org.example.model.dto.LoanStatementRequestDto;
+import org.example.model.dto.ScoringDataDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.naming.ServiceUnavailableException;
+import java.math.BigDecimal;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncCalculatorClientImpTest {
+    @Mock
+    private HttpClient httpClient;
+
+    private AsyncCalculatorClientImp client;
+
+    @BeforeEach
+    void setUp() {
+        PreScoringServiceProperties preScoringProperties = new PreScoringServiceProperties();
+        preScoringProperties.setUrl("http://localhost:8080/calculator/offers");
+        ScoringServiceProperties scoringProperties = new ScoringServiceProperties();
+        scoringProperties.setUrl("http://localhost:8080/calculator/calc");
+        CalculatorResilienceProperties resilienceProperties = new CalculatorResilienceProperties();
+        client = new AsyncCalculatorClientImp(httpClient, new ObjectMapper().findAndRegisterModules(),
+                new HttpClientProperties(), preScoringProperties, scoringProperties,
+                new CalculatorCallGuard(resilienceProperties), new OfferFallbackCache(resilienceProperties));
+    }
+
+    @Test
+    void calculateOffers_Success() {
+        respond(200, "[{\"rate\":18,\"term\":12},{\"rate\":21,\"term\":12}]");
+
+        List<LoanOfferDto> offers = client.calculateOffers(new LoanStatementRequestDto()).join();
+
+        assertEquals(2, offers.size());
+        assertEquals(new BigDecimal("18"), offers.get(0).getRate());
+        ArgumentCaptor<HttpRequest> request = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(httpClient).sendAsync(request.capture(), any());
+        assertEquals(URI.create("http://localhost:8080/calculator/offers"), request.getValue().uri());
+        assertEquals("POST", request.getValue().method());
+    }
+
+    @Test
+    void calculateCredit_Success() {
+        respond(200, "{\"amount\":100000,\"term\":12,\"rate\":15}");
+
+        CreditDecision decision = client.calculateCredit(new ScoringDataDto()).join();
+
+        CreditDto credit = assertInstanceOf(CreditDecision.Approved.class, decision).credit();
+        assertEquals(new BigDecimal("15"), credit.getRate());
+    }
+
+    @Test
+    void calculateCredit_Rejected_ShouldCompleteWithRejection() {
+        respond(422, "{\"rejectionReason\":\"Возраст вне допустимых границ\"}");
+
+        CreditDecision decision = client.calculateCredit(new ScoringDataDto()).join();
+
+        assertEquals(new CreditDecision.Rejected("Возраст вне допустимых границ"), decision);
+    }
+
+    @Test
+    void calculateOffers_ErrorStatus_ShouldFailWithServiceUnavailable() {
+        respond(500, "");
+
+        assertServiceUnavailable(client.calculateOffers(new LoanStatementRequestDto()));
+    }
+
+    @Test
+    void calculateCredit_ConnectionFailed_ShouldFailWithServiceUnavailable() {
+        doReturn(CompletableFuture.failedFuture(new ConnectException("Connection refused")))
+                .when(httpClient).sendAsync(any(HttpRequest.class), any());
+
+        assertServiceUnavailable(client.calculateCredit(new ScoringDataDto()));
+    }
+
+    @Test
+    void calculateOffers_ConnectionFailed_ShouldServeCachedOffers() {
+        LoanStatementRequestDto request = LoanStatementRequestDto.builder()
+                .amount(new BigDecimal("200000")).term(12).build();
+        HttpResponse<byte[]> response = response(200, "[{\"rate\":18,\"term\":12}]");
+        doReturn(CompletableFuture.completedFuture(response),
+                CompletableFuture.failedFuture(new ConnectException("Connection refused")))
+                .when(httpClient).sendAsync(any(HttpRequest.class), any());
+
+        client.calculateOffers(request).join();
+        List<LoanOfferDto> offers = client.calculateOffers(request).join();
+
+        assertEquals(new BigDecimal("18"), offers.get(0).getRate());
+    }
+
+    private void respond(int status, String body) {
+        doReturn(CompletableFuture.completedFuture(response(status, body)))
+                .when(httpClient).sendAsync(any(HttpRequest.class), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpResponse<byte[]> response(int status, String body) {
+        HttpResponse<byte[]> response = mock(HttpResponse.class);
+        lenient().when(response.statusCode()).thenReturn(status);
+        lenient().when(response.body()).thenReturn(body.getBytes(StandardCharsets.UTF_8));
+        return response;
+    }
+
+    private static void assertServiceUnavailable(CompletableFuture<?> future) {
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(ServiceUnavailableException.class, exception.getCause());
+    }
+}
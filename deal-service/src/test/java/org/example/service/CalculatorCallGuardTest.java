@@ -0,0 +1,139 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.config.CalculatorResilienceProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import javax.naming.ServiceUnavailableException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalculatorCallGuardTest {
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+    private CalculatorResilienceProperties properties;
+    private CalculatorCallGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CalculatorResilienceProperties();
+        properties.setSlidingWindowSize(4);
+        properties.setMinimumCalls(4);
+        properties.setFailureRateThreshold(50);
+        properties.setOpenDuration(Duration.ofSeconds(30));
+        properties.setHalfOpenCalls(2);
+        properties.setMaxConcurrentCalls(2);
+        guard = new CalculatorCallGuard(properties, now::get);
+    }
+
+    @Test
+    void call_FailureRateBelowThreshold_ShouldStayClosed() throws ServiceUnavailableException {
+        succeed();
+        succeed();
+        succeed();
+        fail();
+
+        assertEquals(CalculatorCallGuard.State.CLOSED, guard.getState());
+    }
+
+    @Test
+    void call_FailureRateAtThreshold_ShouldOpenAndRejectWithoutCalling() throws ServiceUnavailableException {
+        succeed();
+        succeed();
+        fail();
+        fail();
+        int before = calls.get();
+
+        assertEquals(CalculatorCallGuard.State.OPEN, guard.getState());
+        assertThrows(ServiceUnavailableException.class, this::succeed);
+        assertEquals(before, calls.get());
+        assertEquals(1, guard.getRejectedByOpenCircuit());
+    }
+
+    @Test
+    void call_AfterOpenDuration_ShouldCloseWhenTrialCallsSucceed() throws ServiceUnavailableException {
+        open();
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        assertEquals(CalculatorCallGuard.State.HALF_OPEN, guard.getState());
+        succeed();
+        succeed();
+
+        assertEquals(CalculatorCallGuard.State.CLOSED, guard.getState());
+    }
+
+    @Test
+    void call_TrialCallFails_ShouldOpenAgain() {
+        open();
+        now.addAndGet(Duration.ofSeconds(30).toNanos());
+
+        fail();
+
+        assertEquals(CalculatorCallGuard.State.OPEN, guard.getState());
+    }
+
+    @Test
+    void call_ClientError_ShouldNotCountAsFailure() {
+        for (int i = 0; i < 4; i++) {
+            assertThrows(HttpClientErrorException.class, () -> guard.call(() -> {
+                throw HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request", null, null, null);
+            }));
+        }
+
+        assertEquals(CalculatorCallGuard.State.CLOSED, guard.getState());
+    }
+
+    @Test
+    void callAsync_BulkheadFull_ShouldRejectUntilCallsComplete() throws ServiceUnavailableException {
+        CompletableFuture<String> first = new CompletableFuture<>();
+        CompletableFuture<String> second = new CompletableFuture<>();
+        guard.callAsync(() -> first);
+        guard.callAsync(() -> second);
+
+        CompletableFuture<String> rejected = guard.callAsync(() -> CompletableFuture.completedFuture("third"));
+        assertTrue(rejected.isCompletedExceptionally());
+        assertEquals(1, guard.getRejectedByFullBulkhead());
+
+        first.complete("first");
+        assertEquals("fourth", guard.call(() -> "fourth"));
+    }
+
+    @Test
+    void bindTo_ShouldPublishStateAndRejections() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        guard.bindTo(registry);
+        open();
+        assertThrows(ServiceUnavailableException.class, this::succeed);
+
+        assertEquals(CalculatorCallGuard.State.OPEN.ordinal(), registry.get("calculator.circuit.state").gauge().value());
+        assertEquals(1, registry.get("calculator.calls.rejected").tag("reason", "circuit_open").functionCounter().count());
+        assertEquals(0, registry.get("calculator.calls.rejected").tag("reason", "bulkhead_full").functionCounter().count());
+        assertEquals(2, registry.get("calculator.bulkhead.available").gauge().value());
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            fail();
+        }
+        assertEquals(CalculatorCallGuard.State.OPEN, guard.getState());
+    }
+
+    private void succeed() throws ServiceUnavailableException {
+        guard.call(() -> calls.incrementAndGet());
+    }
+
+    private void fail() {
+        assertThrows(ResourceAccessException.class, () -> guard.call(() -> {
+            calls.incrementAndGet();
+            throw new ResourceAccessException("Connection refused");
+        }));
+    }
+}
@@ -47,6 +47,15 @@ class ClientServiceImpTest {
         verify(clientRepository).save(any(Client.class));
     }
 
+    @Test
+    void deleteClient_ShouldDeleteById() {
+        Client client = createTestClient();
+
+        clientService.deleteClient(client);
+
+        verify(clientRepository).deleteById(client.getClientId());
+    }
+
     @Test
     @Transactional
     void createClient_WithNullMiddleName() {
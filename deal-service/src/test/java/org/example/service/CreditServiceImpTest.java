@@ -1,10 +1,13 @@
 package org.example.service;
 
+import jakarta.persistence.EntityNotFoundException;
+import org.example.config.CalculatorResilienceProperties;
 import org.example.config.ScoringServiceProperties;
 import org.example.model.PaymentSchedule;
 import org.example.model.dto.CreditDto;
 import org.example.model.dto.PaymentScheduleElementDto;
 import org.example.model.dto.ScoringDataDto;
+import org.example.model.dto.ScoringRejectionDto;
 import org.example.model.entity.Credit;
 import org.example.model.entity.Statement;
 import org.example.model.enumerated.CreditStatus;
@@ -13,9 +16,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
@@ -23,6 +28,8 @@ import javax.naming.ServiceUnavailableException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -41,11 +48,20 @@ class CreditServiceImpTest {
     @Mock
     private ScoringServiceProperties properties;
 
+    @Mock
+    private PaymentScheduleService paymentScheduleService;
+
+    @Mock
+    private StatementService statementService;
+
+    @Spy
+    private CalculatorCallGuard callGuard = new CalculatorCallGuard(new CalculatorResilienceProperties());
+
     @InjectMocks
     private CreditServiceImp creditService;
 
     @Test
-    void createCredit_SuccessfulCalculation_ShouldSaveAndReturnCredit() throws Exception {
+    void saveCredit_Approved_ShouldSaveAndReturnCredit() throws Exception {
         // Arrange
         ScoringDataDto scoringData = createValidScoringData();
         Statement statement = new Statement();
@@ -57,7 +73,7 @@ class CreditServiceImpTest {
         when(creditRepository.save(any(Credit.class))).thenAnswer(inv -> inv.getArgument(0));
 
         // Act
-        Credit result = creditService.createCredit(scoringData, statement);
+        Credit result = creditService.saveCredit(creditService.calculateCredit(scoringData), statement).orElseThrow();
 
         // Assert
         assertNotNull(result);
@@ -72,10 +88,31 @@ class CreditServiceImpTest {
     }
 
     @Test
-    void createCredit_ScoringServiceError_ShouldThrowServiceUnavailable() {
+    void saveCredit_ScoringRejected_ShouldDenyStatementWithoutSavingCredit() throws Exception {
         // Arrange
         ScoringDataDto scoringData = createValidScoringData();
         Statement statement = new Statement();
+        HttpClientErrorException rejection = HttpClientErrorException.create(
+                HttpStatus.UNPROCESSABLE_ENTITY, "Unprocessable Entity", null, null, null);
+        rejection.setBodyConvertFunction(type -> new ScoringRejectionDto("Возраст вне допустимых границ"));
+
+        when(properties.getUrl()).thenReturn("http://scoring-service/calculate");
+        when(restTemplate.postForEntity(anyString(), any(), eq(CreditDto.class))).thenThrow(rejection);
+
+        // Act
+        Optional<Credit> result = creditService.saveCredit(creditService.calculateCredit(scoringData), statement);
+
+        // Assert
+        assertTrue(result.isEmpty());
+        verify(statementService).denyStatement(statement, "Возраст вне допустимых границ");
+        verify(creditRepository, never()).save(any());
+        assertEquals(CalculatorCallGuard.State.CLOSED, callGuard.getState());
+    }
+
+    @Test
+    void calculateCredit_ScoringServiceError_ShouldThrowServiceUnavailable() {
+        // Arrange
+        ScoringDataDto scoringData = createValidScoringData();
 
         when(properties.getUrl()).thenReturn("http://scoring-service/calculate");
         when(restTemplate.postForEntity(anyString(), any(), eq(CreditDto.class)))
@@ -83,7 +120,7 @@ class CreditServiceImpTest {
 
         // Act & Assert
         assertThrows(ServiceUnavailableException.class, () -> {
-            creditService.createCredit(scoringData, statement);
+            creditService.calculateCredit(scoringData);
         });
     }
 
@@ -99,10 +136,10 @@ class CreditServiceImpTest {
                 .thenReturn(new ResponseEntity<>(expectedCreditDto, HttpStatus.OK));
 
         // Act
-        CreditDto result = creditService.calculateCredit(scoringData);
+        CreditDecision result = creditService.calculateCredit(scoringData);
 
         // Assert
-        assertEquals(expectedCreditDto, result);
+        assertEquals(new CreditDecision.Approved(expectedCreditDto), result);
     }
 
     @Test
@@ -126,6 +163,47 @@ class CreditServiceImpTest {
         assertEquals(creditDto.getPaymentSchedule().size(), result.getPaymentSchedule().size());
     }
 
+    @Test
+    void buildCreditEntity_ShouldLetScheduleServicePrepareStorage() {
+        // Arrange
+        CreditDto creditDto = createValidCreditDto();
+
+        // Act
+        Credit result = creditService.buildCreditEntity(creditDto);
+
+        // Assert
+        verify(paymentScheduleService).prepareForStorage(result);
+    }
+
+    @Test
+    void getPaymentSchedule_ExistingCredit_ShouldReturnScheduleFromScheduleService() {
+        // Arrange
+        UUID creditId = UUID.randomUUID();
+        Credit credit = Credit.builder().creditId(creditId).build();
+        PaymentSchedule row = new PaymentSchedule(1, LocalDate.of(2024, 2, 29), BigDecimal.valueOf(1000),
+                BigDecimal.valueOf(100), BigDecimal.valueOf(900), BigDecimal.valueOf(9000));
+
+        when(creditRepository.findById(creditId)).thenReturn(Optional.of(credit));
+        when(paymentScheduleService.getPaymentSchedule(credit)).thenReturn(List.of(row));
+
+        // Act
+        List<PaymentScheduleElementDto> result = creditService.getPaymentSchedule(creditId);
+
+        // Assert
+        assertEquals(List.of(new PaymentScheduleElementDto(1, LocalDate.of(2024, 2, 29), BigDecimal.valueOf(1000),
+                BigDecimal.valueOf(100), BigDecimal.valueOf(900), BigDecimal.valueOf(9000))), result);
+    }
+
+    @Test
+    void getPaymentSchedule_UnknownCredit_ShouldThrowEntityNotFound() {
+        // Arrange
+        UUID creditId = UUID.randomUUID();
+        when(creditRepository.findById(creditId)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> creditService.getPaymentSchedule(creditId));
+    }
+
     @Test
     void mapToPaymentSchedule_ValidDto_ShouldReturnCorrectEntity() {
         // Arrange
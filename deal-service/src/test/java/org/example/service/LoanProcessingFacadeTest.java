@@ -1,22 +1,32 @@
 package org.example.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.example.model.AppliedOffer;
 import org.example.model.dto.*;
 import org.example.model.entity.Client;
 import org.example.model.entity.Credit;
 import org.example.model.entity.Statement;
 import org.example.model.enumerated.*;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.naming.ServiceUnavailableException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -37,23 +47,173 @@ class LoanProcessingFacadeTest {
     @Mock
     private CreditService creditService;
 
-    @InjectMocks
+    @Mock
+    private AsyncCalculatorClient calculatorClient;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     private LoanProcessingFacade loanProcessingFacade;
 
+    @BeforeEach
+    void setUp() {
+        loanProcessingFacade = createFacade(Runnable::run);
+    }
+
+    @Test
+    void processLoanApplication_Success() throws ServiceUnavailableException {
+        LoanStatementRequestDto requestDto = createTestLoanRequest();
+        Client testClient = createTestClient();
+        Statement testStatement = createTestStatement();
+
+        when(offerService.calculateOffers(requestDto)).thenReturn(List.of(createTestOffer(BigDecimal.valueOf(8.5))));
+        when(clientService.createClient(requestDto)).thenReturn(testClient);
+        when(statementService.createStatement(testClient)).thenReturn(testStatement);
+
+        List<LoanOfferDto> result = loanProcessingFacade.processLoanApplication(requestDto);
+
+        assertEquals(testStatement.getStatementId(), result.get(0).getStatementId());
+        verify(transactionManager).commit(any());
+        verify(statementService, never()).deleteStatement(any());
+        for (String stage : List.of("client_insert", "statement_insert", "offers_call")) {
+            assertEquals(1, meterRegistry.get("deal.stage").tag("stage", stage).timer().count());
+        }
+    }
+
+    @Test
+    void processLoanApplication_ShouldStoreStatementWhileCalculatingOffers() throws Exception {
+        LoanStatementRequestDto requestDto = createTestLoanRequest();
+        Client testClient = createTestClient();
+        Statement testStatement = createTestStatement();
+        CountDownLatch calculating = new CountDownLatch(1);
+        CountDownLatch stored = new CountDownLatch(1);
+
+        when(clientService.createClient(requestDto)).thenAnswer(invocation -> {
+            assertTrue(calculating.await(5, TimeUnit.SECONDS), "offers are not requested concurrently");
+            return testClient;
+        });
+        when(statementService.createStatement(testClient)).thenAnswer(invocation -> {
+            stored.countDown();
+            return testStatement;
+        });
+        when(offerService.calculateOffers(requestDto)).thenAnswer(invocation -> {
+            calculating.countDown();
+            assertTrue(stored.await(5, TimeUnit.SECONDS), "statement is not stored concurrently");
+            return List.of(createTestOffer(BigDecimal.valueOf(8.5)));
+        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<LoanOfferDto> result = createFacade(executor).processLoanApplication(requestDto);
+
+            assertEquals(testStatement.getStatementId(), result.get(0).getStatementId());
+        }
+    }
 
     @Test
-    void processLoanApplication_ServiceUnavailable() throws ServiceUnavailableException {
+    void processLoanApplication_ServiceUnavailable_ShouldDeleteStoredStatement() throws ServiceUnavailableException {
         LoanStatementRequestDto requestDto = createTestLoanRequest();
         Client testClient = createTestClient();
         Statement testStatement = createTestStatement();
+        testStatement.setClientId(testClient);
 
-        when(clientService.createClient(any(LoanStatementRequestDto.class))).thenReturn(testClient);
-        when(statementService.createStatement(any(Client.class))).thenReturn(testStatement);
+        when(clientService.createClient(requestDto)).thenReturn(testClient);
+        when(statementService.createStatement(testClient)).thenReturn(testStatement);
         when(offerService.calculateOffers(any(LoanStatementRequestDto.class)))
                 .thenThrow(new ServiceUnavailableException("Service unavailable"));
 
         assertThrows(ServiceUnavailableException.class, () ->
                 loanProcessingFacade.processLoanApplication(requestDto));
+        verify(statementService).deleteStatement(testStatement);
+        verify(clientService).deleteClient(testClient);
+    }
+
+    @Test
+    void processLoanApplication_StatementNotStored_ShouldThrow() throws ServiceUnavailableException {
+        LoanStatementRequestDto requestDto = createTestLoanRequest();
+
+        when(clientService.createClient(requestDto)).thenThrow(new IllegalStateException("Database unavailable"));
+        when(offerService.calculateOffers(requestDto)).thenReturn(List.of(createTestOffer(BigDecimal.valueOf(8.5))));
+
+        assertThrows(IllegalStateException.class, () -> loanProcessingFacade.processLoanApplication(requestDto));
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void processLoanApplicationAsync_Success() {
+        LoanStatementRequestDto requestDto = createTestLoanRequest();
+        Client testClient = createTestClient();
+        Statement testStatement = createTestStatement();
+        List<LoanOfferDto> offers = List.of(createTestOffer(BigDecimal.valueOf(8.5)), createTestOffer(BigDecimal.valueOf(9.5)));
+
+        when(calculatorClient.calculateOffers(requestDto)).thenReturn(CompletableFuture.completedFuture(offers));
+        when(clientService.createClient(requestDto)).thenReturn(testClient);
+        when(statementService.createStatement(testClient)).thenReturn(testStatement);
+
+        List<LoanOfferDto> result = loanProcessingFacade.processLoanApplicationAsync(requestDto).join();
+
+        assertEquals(2, result.size());
+        result.forEach(offer -> assertEquals(testStatement.getStatementId(), offer.getStatementId()));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void processLoanApplicationAsync_ServiceUnavailable_ShouldDeleteStoredStatement() {
+        LoanStatementRequestDto requestDto = createTestLoanRequest();
+        Client testClient = createTestClient();
+        Statement testStatement = createTestStatement();
+        testStatement.setClientId(testClient);
+
+        when(clientService.createClient(requestDto)).thenReturn(testClient);
+        when(statementService.createStatement(testClient)).thenReturn(testStatement);
+        when(calculatorClient.calculateOffers(requestDto)).thenReturn(
+                CompletableFuture.failedFuture(new ServiceUnavailableException("Service unavailable")));
+
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> loanProcessingFacade.processLoanApplicationAsync(requestDto).join());
+
+        assertInstanceOf(ServiceUnavailableException.class, exception.getCause());
+        verify(statementService).deleteStatement(testStatement);
+        verify(clientService).deleteClient(testClient);
+    }
+
+    @Test
+    void processLoanApplicationAsync_ShouldTimeOffersCallFromBeforeTheCall() {
+        LoanStatementRequestDto requestDto = createTestLoanRequest();
+        Client testClient = createTestClient();
+        when(clientService.createClient(requestDto)).thenReturn(testClient);
+        when(statementService.createStatement(testClient)).thenReturn(createTestStatement());
+        when(calculatorClient.calculateOffers(requestDto)).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            return CompletableFuture.completedFuture(List.of(createTestOffer(BigDecimal.valueOf(8.5))));
+        });
+
+        loanProcessingFacade.processLoanApplicationAsync(requestDto).join();
+
+        assertTrue(meterRegistry.get("deal.stage").tag("stage", "offers_call").timer()
+                .totalTime(TimeUnit.MILLISECONDS) >= 50);
+    }
+
+    @Test
+    void processCreditCalculationAsync_Success() {
+        UUID statementId = UUID.randomUUID();
+        FinishRegistrationRequestDto requestDto = createFinishRegistrationRequest();
+        Statement testStatement = createTestStatementWithOffer();
+        Credit testCredit = createTestCredit();
+        CreditDto creditDto = new CreditDto();
+
+        when(statementService.getStatementById(statementId)).thenReturn(testStatement);
+        CreditDecision decision = new CreditDecision.Approved(creditDto);
+        when(calculatorClient.calculateCredit(any(ScoringDataDto.class)))
+                .thenReturn(CompletableFuture.completedFuture(decision));
+        when(creditService.saveCredit(decision, testStatement)).thenReturn(Optional.of(testCredit));
+
+        loanProcessingFacade.processCreditCalculationAsync(requestDto, statementId).join();
+
+        verify(statementService, times(2)).getStatementById(statementId);
+        verify(statementService).updateStatementWithCredit(testStatement, testCredit);
+        verify(transactionManager, times(2)).commit(any());
     }
 
     @Test
@@ -73,15 +233,34 @@ class LoanProcessingFacadeTest {
         Statement testStatement = createTestStatementWithOffer();
         Credit testCredit = createTestCredit();
 
+        CreditDecision decision = new CreditDecision.Approved(new CreditDto());
+
         when(statementService.getStatementById(statementId)).thenReturn(testStatement);
-        when(creditService.createCredit(any(ScoringDataDto.class), any(Statement.class)))
-                .thenReturn(testCredit);
+        when(creditService.calculateCredit(any(ScoringDataDto.class))).thenReturn(decision);
+        when(creditService.saveCredit(decision, testStatement)).thenReturn(Optional.of(testCredit));
 
         loanProcessingFacade.processCreditCalculation(requestDto, statementId);
 
         verify(statementService).getStatementById(statementId);
-        verify(creditService).createCredit(any(ScoringDataDto.class), eq(testStatement));
+        verify(creditService).saveCredit(decision, testStatement);
         verify(statementService).updateStatementWithCredit(testStatement, testCredit);
+        assertEquals(1, meterRegistry.get("deal.stage").tag("stage", "scoring_call").timer().count());
+        assertEquals(1, meterRegistry.get("deal.stage").tag("stage", "credit_insert").timer().count());
+    }
+
+    @Test
+    void processCreditCalculation_Rejected_ShouldNotAttachCredit() throws ServiceUnavailableException {
+        UUID statementId = UUID.randomUUID();
+        Statement testStatement = createTestStatementWithOffer();
+
+        when(statementService.getStatementById(statementId)).thenReturn(testStatement);
+        CreditDecision decision = new CreditDecision.Rejected("Возраст вне допустимых границ");
+        when(creditService.calculateCredit(any(ScoringDataDto.class))).thenReturn(decision);
+        when(creditService.saveCredit(decision, testStatement)).thenReturn(Optional.empty());
+
+        loanProcessingFacade.processCreditCalculation(createFinishRegistrationRequest(), statementId);
+
+        verify(statementService, never()).updateStatementWithCredit(any(), any());
     }
 
     @Test
@@ -111,6 +290,11 @@ class LoanProcessingFacadeTest {
         assertEquals(requestDto.getIsSalaryClient(), result.getIsSalaryClient());
     }
 
+    private LoanProcessingFacade createFacade(Executor executor) {
+        return new LoanProcessingFacade(clientService, statementService, offerService, creditService,
+                calculatorClient, transactionManager, executor, meterRegistry);
+    }
+
     private LoanStatementRequestDto createTestLoanRequest() {
         return LoanStatementRequestDto.builder()
                 .lastName("Ivanov")
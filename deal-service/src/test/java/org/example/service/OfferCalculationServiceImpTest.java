@@ -1,5 +1,6 @@
 package org.example.service;
 
+import org.example.config.CalculatorResilienceProperties;
 import org.example.config.PreScoringServiceProperties;
 import org.example.model.dto.LoanOfferDto;
 import org.example.model.dto.LoanStatementRequestDto;
@@ -7,14 +8,18 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.*;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import javax.naming.ServiceUnavailableException;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -29,6 +34,12 @@ public class OfferCalculationServiceImpTest {
     @Mock
     private PreScoringServiceProperties properties;
 
+    @Spy
+    private CalculatorCallGuard callGuard = new CalculatorCallGuard(new CalculatorResilienceProperties());
+
+    @Spy
+    private OfferFallbackCache offerFallback = new OfferFallbackCache(new CalculatorResilienceProperties());
+
     @InjectMocks
     private OfferCalculationServiceImp service;
 
@@ -72,4 +83,49 @@ public class OfferCalculationServiceImpTest {
         assertThrows(ServiceUnavailableException.class, () -> service.calculateOffers(request));
     }
 
+    @Test
+    void calculateOffers_Unavailable_ShouldServeLastOffersForAmountAndTerm() throws ServiceUnavailableException {
+        LoanStatementRequestDto request = LoanStatementRequestDto.builder()
+                .amount(new BigDecimal("200000")).term(12).build();
+        LoanOfferDto offer = LoanOfferDto.builder().requestedAmount(new BigDecimal("200000")).term(12)
+                .rate(new BigDecimal("18")).build();
+
+        when(properties.getUrl()).thenReturn("http://localhost:8080/calculator/offers");
+        when(restTemplate.exchange(
+                anyString(),
+                any(HttpMethod.class),
+                any(HttpEntity.class),
+                any(ParameterizedTypeReference.class))
+        ).thenReturn(ResponseEntity.ok(List.of(offer)))
+                .thenThrow(new RestClientException("Connection failed"));
+
+        service.calculateOffers(request).get(0).setStatementId(UUID.randomUUID());
+        List<LoanOfferDto> result = service.calculateOffers(LoanStatementRequestDto.builder()
+                .amount(new BigDecimal("200000.00")).term(12).build());
+
+        assertEquals(1, result.size());
+        assertEquals(new BigDecimal("18"), result.get(0).getRate());
+        assertNull(result.get(0).getStatementId());
+        assertEquals(1, offerFallback.getServed());
+    }
+
+    @Test
+    void calculateOffers_ClientError_ShouldNotServeCachedOffers() throws ServiceUnavailableException {
+        LoanStatementRequestDto request = LoanStatementRequestDto.builder()
+                .amount(new BigDecimal("200000")).term(12).build();
+        offerFallback.put(request, List.of(new LoanOfferDto()));
+
+        when(properties.getUrl()).thenReturn("http://localhost:8080/calculator/offers");
+        when(restTemplate.exchange(
+                anyString(),
+                any(HttpMethod.class),
+                any(HttpEntity.class),
+                any(ParameterizedTypeReference.class))
+        ).thenThrow(HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request", null, null, null));
+
+        assertThrows(ServiceUnavailableException.class, () -> service.calculateOffers(request));
+        assertEquals(0, offerFallback.getServed());
+        assertEquals(CalculatorCallGuard.State.CLOSED, callGuard.getState());
+    }
+
 }
\ No newline at end of file
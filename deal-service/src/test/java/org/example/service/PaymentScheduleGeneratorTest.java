@@ -0,0 +1,52 @@
+package org.example.service;
+
+import org.example.model.PaymentSchedule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PaymentScheduleGeneratorTest {
+
+    @Test
+    void generate_ShouldMatchExactCalculation() {
+        LocalDate start = LocalDate.of(2024, 1, 31);
+        for (int rate = 5; rate <= 29; rate += 3) {
+            for (int term = 6; term <= 120; term += 19) {
+                BigDecimal psk = BigDecimal.valueOf(10_000_000L + 7_919L * rate * term, 2);
+                BigDecimal annualRate = BigDecimal.valueOf(rate * 10 + 5, 1);
+
+                assertEquals(PaymentScheduleGenerator.generateExact(psk, term, annualRate, start),
+                        PaymentScheduleGenerator.generate(psk, term, annualRate, start),
+                        "psk " + psk + ", rate " + annualRate + ", term " + term);
+            }
+        }
+    }
+
+    @Test
+    void generate_ShouldMatchExactCalculationForLongTerm() {
+        BigDecimal psk = new BigDecimal("5925000.00");
+        BigDecimal rate = new BigDecimal("18.5");
+        LocalDate start = LocalDate.of(2024, 1, 15);
+
+        assertEquals(PaymentScheduleGenerator.generateExact(psk, 360, rate, start),
+                PaymentScheduleGenerator.generate(psk, 360, rate, start));
+    }
+
+    @Test
+    void generate_ShouldReproduceCalculatorSchedule() {
+        List<PaymentSchedule> schedule = PaymentScheduleGenerator.generate(
+                new BigDecimal("118500.00"), 12, new BigDecimal("18.5"), LocalDate.of(2024, 1, 31));
+
+        // rows produced by the calculator service for the same credit
+        assertEquals(12, schedule.size());
+        assertEquals(new PaymentSchedule(1, LocalDate.of(2024, 2, 29), new BigDecimal("10892.30"),
+                new BigDecimal("1826.88"), new BigDecimal("9065.42"), new BigDecimal("109434.58")), schedule.get(0));
+        assertEquals(LocalDate.of(2024, 3, 31), schedule.get(1).getDate());
+        assertEquals(new PaymentSchedule(12, LocalDate.of(2025, 1, 31), new BigDecimal("10892.30"),
+                new BigDecimal("165.37"), new BigDecimal("10726.92"), new BigDecimal("0.00")), schedule.get(11));
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.service;
+
+import org.example.config.PaymentScheduleMigrationProperties;
+import org.example.model.PaymentSchedule;
+import org.example.model.entity.Credit;
+import org.example.model.enumerated.CreditStatus;
+import org.example.repository.CreditRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migration;MODE=PostgreSQL;INIT=CREATE DOMAIN IF NOT EXISTS JSONB AS JSON",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PaymentScheduleMigrationTest {
+    private static final String LEGACY_SCHEDULE =
+            "[{\"number\":1,\"date\":[2024,2,29],\"totalPayment\":20581.90,\"interestPayment\":3166.67,"
+            + "\"debtPayment\":17415.23,\"remainingDebt\":182584.77},"
+            + "{\"number\":2,\"date\":[2024,3,31],\"totalPayment\":20581.90,\"interestPayment\":2890.93,"
+            + "\"debtPayment\":17690.97,\"remainingDebt\":164893.80}]";
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private CreditRepository creditRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void migrate_ShouldRewriteLegacyRowsOnly() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        UUID legacyId = UUID.randomUUID();
+        jdbcTemplate.update("insert into credit (credit_id, amount, term, payment_schedule) values (?, 200000, 2, ? format json)",
+                legacyId, LEGACY_SCHEDULE);
+        Credit current = creditRepository.save(Credit.builder()
+                .creditId(UUID.randomUUID())
+                .amount(BigDecimal.valueOf(200000))
+                .term(1)
+                .paymentSchedule(List.of(new PaymentSchedule(1, LocalDate.of(2024, 2, 15),
+                        new BigDecimal("1.00"), new BigDecimal("0.50"), new BigDecimal("0.50"), new BigDecimal("0.00"))))
+                .creditStatus(CreditStatus.CALCULATED)
+                .build());
+        List<PaymentSchedule> legacySchedule = creditRepository.findById(legacyId).orElseThrow().getPaymentSchedule();
+
+        PaymentScheduleMigrationProperties properties = new PaymentScheduleMigrationProperties();
+        properties.setBatchSize(1);
+        PaymentScheduleMigration migration = new PaymentScheduleMigration(dataSource, creditRepository, transactionManager, properties);
+
+        assertEquals(1, migration.migrate());
+        assertEquals(0, migration.migrate());
+
+        String stored = jdbcTemplate.queryForObject("select cast(payment_schedule as varchar) from credit where credit_id = ?",
+                String.class, legacyId);
+        assertTrue(stored.startsWith("{\"format\":\"columnar-v1\",\"start\":\"2024-01-31\""), stored);
+        assertEquals(legacySchedule, creditRepository.findById(legacyId).orElseThrow().getPaymentSchedule());
+        assertEquals(current.getPaymentSchedule(), creditRepository.findById(current.getCreditId()).orElseThrow().getPaymentSchedule());
+    }
+}
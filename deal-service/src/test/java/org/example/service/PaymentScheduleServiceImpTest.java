@@ -0,0 +1,103 @@
+package org.example.service;
+
+import org.example.config.PaymentScheduleProperties;
+import org.example.model.PaymentSchedule;
+import org.example.model.entity.Credit;
+import org.example.model.enumerated.PaymentScheduleMode;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaymentScheduleServiceImpTest {
+    private static final BigDecimal PSK = new BigDecimal("118500.00");
+    private static final BigDecimal RATE = new BigDecimal("18.5");
+    private static final LocalDate START = LocalDate.of(2024, 1, 31);
+
+    @Test
+    void prepareForStorage_StoredMode_ShouldKeepRows() {
+        PaymentScheduleServiceImp service = createService(PaymentScheduleMode.STORED);
+        Credit credit = createCredit(PSK, PaymentScheduleGenerator.generateExact(PSK, 12, RATE, START));
+
+        service.prepareForStorage(credit);
+
+        assertEquals(12, credit.getPaymentSchedule().size());
+        assertNull(credit.getPaymentScheduleVersion());
+        assertSame(credit.getPaymentSchedule(), service.getPaymentSchedule(credit));
+    }
+
+    @Test
+    void prepareForStorage_DerivedMode_ShouldStoreParametersAndRegenerateRows() {
+        PaymentScheduleServiceImp service = createService(PaymentScheduleMode.DERIVED);
+        List<PaymentSchedule> schedule = PaymentScheduleGenerator.generateExact(PSK, 12, RATE, START);
+        Credit credit = createCredit(PSK, new ArrayList<>(schedule));
+
+        service.prepareForStorage(credit);
+
+        assertNull(credit.getPaymentSchedule());
+        assertEquals(PaymentScheduleGenerator.VERSION, credit.getPaymentScheduleVersion());
+        assertEquals(START, credit.getPaymentScheduleStart());
+
+        // as read back from a numeric(38,2) column
+        credit.setPsk(new BigDecimal("118500"));
+        assertEquals(schedule, service.getPaymentSchedule(credit));
+        assertSame(service.getPaymentSchedule(credit), service.getPaymentSchedule(credit));
+        assertEquals(1, service.getCachedScheduleCount());
+    }
+
+    @Test
+    void prepareForStorage_DerivedModeWithDifferentRows_ShouldKeepRows() {
+        PaymentScheduleServiceImp service = createService(PaymentScheduleMode.DERIVED);
+        List<PaymentSchedule> schedule = new ArrayList<>(PaymentScheduleGenerator.generateExact(PSK, 12, RATE, START));
+        schedule.get(11).setTotalPayment(schedule.get(11).getTotalPayment().add(new BigDecimal("0.01")));
+        Credit credit = createCredit(PSK, schedule);
+
+        service.prepareForStorage(credit);
+
+        assertSame(schedule, credit.getPaymentSchedule());
+        assertNull(credit.getPaymentScheduleVersion());
+    }
+
+    @Test
+    void prepareForStorage_DerivedModeWithPskFinerThanColumn_ShouldKeepRows() {
+        PaymentScheduleServiceImp service = createService(PaymentScheduleMode.DERIVED);
+        BigDecimal psk = new BigDecimal("146296.28430");
+        Credit credit = createCredit(psk, PaymentScheduleGenerator.generateExact(psk, 12, RATE, START));
+
+        service.prepareForStorage(credit);
+
+        assertNotNull(credit.getPaymentSchedule());
+        assertNull(credit.getPaymentScheduleVersion());
+    }
+
+    @Test
+    void getPaymentSchedule_UnknownVersion_ShouldThrow() {
+        PaymentScheduleServiceImp service = createService(PaymentScheduleMode.DERIVED);
+        Credit credit = createCredit(PSK, null);
+        credit.setPaymentScheduleVersion(PaymentScheduleGenerator.VERSION + 1);
+        credit.setPaymentScheduleStart(START);
+
+        assertThrows(IllegalStateException.class, () -> service.getPaymentSchedule(credit));
+    }
+
+    private static PaymentScheduleServiceImp createService(PaymentScheduleMode mode) {
+        PaymentScheduleProperties properties = new PaymentScheduleProperties();
+        properties.setMode(mode);
+        return new PaymentScheduleServiceImp(properties);
+    }
+
+    private static Credit createCredit(BigDecimal psk, List<PaymentSchedule> schedule) {
+        return Credit.builder()
+                .creditId(UUID.randomUUID())
+                .psk(psk)
+                .term(12)
+                .rate(RATE)
+                .paymentSchedule(schedule)
+                .build();
+    }
+}
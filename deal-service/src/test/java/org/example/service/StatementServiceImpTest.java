@@ -77,6 +77,38 @@ class StatementServiceImpTest {
         });
     }
 
+    @Test
+    void deleteStatement_ShouldDeleteById() {
+        // Arrange
+        Statement statement = Statement.builder().statementId(UUID.randomUUID()).build();
+
+        // Act
+        statementService.deleteStatement(statement);
+
+        // Assert
+        verify(statementRepository).deleteById(statement.getStatementId());
+    }
+
+    @Test
+    void denyStatement_ShouldSetCcDeniedAndAppendHistory() {
+        // Arrange
+        Statement statement = Statement.builder()
+                .statementId(testStatementId)
+                .status(ApplicationStatus.APPROVED)
+                .statusHistory(new ArrayList<>())
+                .build();
+
+        // Act
+        statementService.denyStatement(statement, "Возраст вне допустимых границ");
+
+        // Assert
+        assertEquals(ApplicationStatus.CC_DENIED, statement.getStatus());
+        assertEquals(ApplicationStatus.CC_DENIED, statement.getStatusHistory().get(0).getStatus());
+        assertEquals(ChangeType.AUTOMATIC, statement.getStatusHistory().get(0).getChangeType());
+        assertEquals("Возраст вне допустимых границ", statement.getStatusHistory().get(0).getReason());
+        verify(statementRepository).save(statement);
+    }
+
     @Test
     void getStatementById_ShouldReturnStatement() {
         // Arrange
@@ -0,0 +1,100 @@
+package org.example.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps one of every {@code n} INFO, DEBUG and TRACE events of the configured loggers and drops the others before
+ * their message is formatted. Warnings and errors are never sampled.
+ * <p>
+ * Configured in {@code logback-base.xml} from {@code logging.sampling.every-nth}: comma-separated {@code logger=n}
+ * pairs. An entry also covers the children of the logger, the most specific entry wins and the loggers it covers
+ * share one counter. The loggers listed in {@code neverSampled} and their children keep every event whatever the
+ * entries say, for output that must not lose lines, such as exported spans.
+ */
+public class LogSamplingFilter extends TurboFilter {
+    private static final Sampler KEEP_ALL = new Sampler(1);
+
+    private final Map<String, Sampler> samplers = new HashMap<>();
+    private final Set<String> neverSampled = new HashSet<>();
+    private final Map<String, Sampler> resolved = new ConcurrentHashMap<>();
+
+    public void setEveryNth(String everyNth) {
+        samplers.clear();
+        for (String entry : everyNth.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] pair = entry.split("=");
+            try {
+                int n = Integer.parseInt(pair[1].trim());
+                if (n < 1) {
+                    throw new NumberFormatException();
+                }
+                samplers.put(pair[0].trim(), new Sampler(n));
+            } catch (ArrayIndexOutOfBoundsException | NumberFormatException e) {
+                addError("Некорректная настройка выборки логов: " + entry);
+            }
+        }
+        resolved.clear();
+    }
+
+    public void setNeverSampled(String loggers) {
+        neverSampled.clear();
+        for (String logger : loggers.split(",")) {
+            if (!logger.isBlank()) {
+                neverSampled.add(logger.trim());
+            }
+        }
+        resolved.clear();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // format is null for isXxxEnabled checks, which must not count as events
+        if (format == null || level.isGreaterOrEqual(Level.WARN) || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        return resolved.computeIfAbsent(logger.getName(), this::resolve).keep() ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private Sampler resolve(String name) {
+        for (String candidate = name; ; candidate = candidate.substring(0, candidate.lastIndexOf('.'))) {
+            if (neverSampled.contains(candidate)) {
+                return KEEP_ALL;
+            }
+            if (candidate.indexOf('.') < 0) {
+                break;
+            }
+        }
+        for (String candidate = name; ; candidate = candidate.substring(0, candidate.lastIndexOf('.'))) {
+            Sampler sampler = samplers.get(candidate);
+            if (sampler != null) {
+                return sampler;
+            }
+            if (candidate.indexOf('.') < 0) {
+                return KEEP_ALL;
+            }
+        }
+    }
+
+    private record Sampler(int n, AtomicLong events) {
+        Sampler(int n) {
+            this(n, new AtomicLong());
+        }
+
+        boolean keep() {
+            return n == 1 || events.getAndIncrement() % n == 0;
+        }
+    }
+}
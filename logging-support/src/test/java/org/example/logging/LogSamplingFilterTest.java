@@ -0,0 +1,74 @@
+package org.example.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LogSamplingFilterTest {
+    private final LoggerContext context = new LoggerContext();
+    private final LogSamplingFilter filter = new LogSamplingFilter();
+
+    @BeforeEach
+    void setUp() {
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.DEBUG);
+        filter.setContext(context);
+        filter.setEveryNth("org.example.util=10, org.example.util.CreditScoring=4");
+        filter.start();
+    }
+
+    @Test
+    void decide_ShouldKeepEveryNthEventOfMostSpecificLogger() {
+        assertEquals(3, kept("org.example.util.CreditScoring", Level.INFO, 12));
+        assertEquals(2, kept("org.example.util.AnnuityFactorCache", Level.DEBUG, 20));
+    }
+
+    @Test
+    void decide_ShouldNotSampleWarningsOrOtherLoggers() {
+        assertEquals(12, kept("org.example.util.CreditScoring", Level.WARN, 12));
+        assertEquals(12, kept("org.example.service.ScoringServiceImpl", Level.INFO, 12));
+    }
+
+    @Test
+    void decide_DisabledLevelOrEnabledCheck_ShouldNotCountAsEvent() {
+        Logger logger = context.getLogger("org.example.util.CreditScoring");
+        logger.setLevel(Level.INFO);
+
+        filter.decide(null, logger, Level.DEBUG, "Проверка возраста", null, null);
+        filter.decide(null, logger, Level.INFO, null, null, null);
+
+        assertEquals(FilterReply.NEUTRAL, filter.decide(null, logger, Level.INFO, "Начало скоринга", null, null));
+        assertEquals(FilterReply.DENY, filter.decide(null, logger, Level.INFO, "Начало скоринга", null, null));
+    }
+
+    @Test
+    void decide_NeverSampledLogger_ShouldKeepEveryEvent() {
+        filter.setEveryNth("io=10");
+        filter.setNeverSampled("io.opentelemetry.exporter.logging.otlp");
+
+        assertEquals(12, kept("io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter", Level.INFO, 12));
+        assertEquals(2, kept("io.micrometer.Other", Level.INFO, 12));
+    }
+
+    @Test
+    void setEveryNth_InvalidEntry_ShouldBeIgnored() {
+        filter.setEveryNth("org.example.controller=0,org.example.service");
+
+        assertEquals(5, kept("org.example.controller.ScoringController", Level.INFO, 5));
+        assertEquals(5, kept("org.example.service.ScoringServiceImpl", Level.INFO, 5));
+    }
+
+    private long kept(String loggerName, Level level, int events) {
+        Logger logger = context.getLogger(loggerName);
+        return IntStream.range(0, events)
+                .mapToObj(i -> filter.decide(null, logger, level, "Событие {}", new Object[]{i}, null))
+                .filter(reply -> reply == FilterReply.NEUTRAL)
+                .count();
+    }
+}